@@ -0,0 +1,97 @@
+#!/usr/bin/env node
+
+/**
+ * Load benchmark for comparing the platform-thread and virtual-thread execution modes.
+ *
+ * Start the application in one mode, run this script, then restart it with
+ * VIRTUAL_THREADS_ENABLED toggled and run it again with the same arguments.
+ * Each worker sends requests back to back for the given duration, cycling through the paths.
+ *
+ * Usage:
+ *   node benchmark-threading.js --url http://localhost:8082 --concurrency 200 --duration 30 \
+ *       --path /api/availability/next --path /api/bookings/block-dates [--token <jwt>]
+ *
+ * Requires Node.js 18+ (built-in fetch); no npm dependencies.
+ */
+
+function parseArgs(argv) {
+    const options = { url: 'http://localhost:8082', concurrency: 100, duration: 30, paths: [], token: null };
+    for (let i = 0; i < argv.length; i++) {
+        const value = argv[i + 1];
+        switch (argv[i]) {
+            case '--url': options.url = value; i++; break;
+            case '--concurrency': options.concurrency = parseInt(value, 10); i++; break;
+            case '--duration': options.duration = parseInt(value, 10); i++; break;
+            case '--path': options.paths.push(value); i++; break;
+            case '--token': options.token = value; i++; break;
+            default:
+                console.error(`Unknown argument: ${argv[i]}`);
+                process.exit(1);
+        }
+    }
+    if (options.paths.length === 0) {
+        options.paths.push('/api/availability/next');
+    }
+    return options;
+}
+
+function percentile(sorted, p) {
+    if (sorted.length === 0) {
+        return 0;
+    }
+    const index = Math.min(sorted.length - 1, Math.ceil((p / 100) * sorted.length) - 1);
+    return sorted[Math.max(0, index)];
+}
+
+async function worker(options, stats, deadline, offset) {
+    const headers = options.token ? { Authorization: `Bearer ${options.token}` } : {};
+    let i = offset;
+    while (Date.now() < deadline) {
+        const path = options.paths[i++ % options.paths.length];
+        const result = stats[path];
+        const start = process.hrtime.bigint();
+        try {
+            const response = await fetch(options.url + path, { headers });
+            await response.arrayBuffer();
+            if (response.status === 503) {
+                result.rejected++;
+            } else if (response.status >= 400) {
+                result.errors++;
+            }
+        } catch (e) {
+            result.errors++;
+        }
+        result.latencies.push(Number(process.hrtime.bigint() - start) / 1e6);
+    }
+}
+
+async function main() {
+    const options = parseArgs(process.argv.slice(2));
+    const stats = {};
+    for (const path of options.paths) {
+        stats[path] = { latencies: [], errors: 0, rejected: 0 };
+    }
+
+    console.log(`Benchmarking ${options.url} with ${options.concurrency} workers for ${options.duration}s`);
+    const deadline = Date.now() + options.duration * 1000;
+    const workers = [];
+    for (let w = 0; w < options.concurrency; w++) {
+        workers.push(worker(options, stats, deadline, w));
+    }
+    await Promise.all(workers);
+
+    for (const path of options.paths) {
+        const result = stats[path];
+        const sorted = result.latencies.sort((a, b) => a - b);
+        console.log(
+            `${path}: ${(sorted.length / options.duration).toFixed(1)} req/s, `
+            + `p50 ${percentile(sorted, 50).toFixed(1)} ms, p95 ${percentile(sorted, 95).toFixed(1)} ms, `
+            + `p99 ${percentile(sorted, 99).toFixed(1)} ms, errors ${result.errors}, 503s ${result.rejected}`
+        );
+    }
+}
+
+main().catch((e) => {
+    console.error(e);
+    process.exit(1);
+});
@@ -0,0 +1,89 @@
+package com.tilingroofing.api.controller;
+
+import com.tilingroofing.api.dto.response.ApiResponse;
+import com.tilingroofing.api.dto.response.AvailableDateResponse;
+import com.tilingroofing.api.dto.response.MonthAvailabilityResponse;
+import com.tilingroofing.service.AvailabilityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * REST controller for public booking availability.
+ * Serves compact, cacheable availability data for the date picker without exposing booking details.
+ */
+@RestController
+@RequestMapping("/api/availability")
+@Tag(name = "Availability", description = "Public booking availability endpoints")
+public class AvailabilityController {
+
+    private final AvailabilityService availabilityService;
+    private final CacheControl cacheControl;
+
+    public AvailabilityController(
+            AvailabilityService availabilityService,
+            @Value("${app.availability.cache-max-age-seconds:60}") long cacheMaxAgeSeconds
+    ) {
+        this.availabilityService = availabilityService;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(cacheMaxAgeSeconds)).cachePublic();
+    }
+
+    /**
+     * Finds the next bookable dates for a job, so customers don't have to pick dates by trial and error.
+     */
+    @GetMapping("/next")
+    @Operation(
+            summary = "Find next available dates",
+            description = "Returns the next bookable dates after a given date for a job size and optional time slot"
+    )
+    public ResponseEntity<ApiResponse<List<AvailableDateResponse>>> getNextAvailableDates(
+            @Parameter(description = "Search after this date (YYYY-MM-DD); defaults to today")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Job size (small, medium, large)")
+            @RequestParam String jobSize,
+            @Parameter(description = "Time slot (morning, afternoon, flexible)")
+            @RequestParam(required = false) String timeSlot,
+            @Parameter(description = "Number of dates to return (max 31)")
+            @RequestParam(defaultValue = "5") int count
+    ) {
+        int limit = Math.max(1, Math.min(count, 31));
+        List<AvailableDateResponse> dates = availabilityService.findNextAvailableDates(after, jobSize, timeSlot, limit);
+        return ResponseEntity.ok(ApiResponse.success(dates));
+    }
+
+    /**
+     * Gets the availability of every day in a month as bitmasks.
+     * Supports conditional requests: a matching If-None-Match returns 304 Not Modified.
+     */
+    @GetMapping("/{month}")
+    @Operation(
+            summary = "Get month availability",
+            description = "Returns bitmasks of bookable days for a month (bit 0 = 1st of the month), overall and per time slot"
+    )
+    public ResponseEntity<ApiResponse<MonthAvailabilityResponse>> getMonthAvailability(
+            @Parameter(description = "Month (yyyy-MM)")
+            @PathVariable String month,
+            WebRequest request
+    ) {
+        AvailabilityService.MonthAvailability availability = availabilityService.getMonthAvailability(month);
+        if (request.checkNotModified(availability.etag())) {
+            return ResponseEntity.status(304).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(availability.etag())
+                .body(ApiResponse.success(availability.body()));
+    }
+}
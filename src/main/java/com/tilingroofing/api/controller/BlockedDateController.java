@@ -9,9 +9,11 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -25,6 +27,8 @@ import java.util.List;
 @Tag(name = "Blocked Dates", description = "Blocked date management endpoints")
 public class BlockedDateController {
 
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final BlockedDateService blockedDateService;
 
     public BlockedDateController(BlockedDateService blockedDateService) {
@@ -47,6 +51,7 @@ public class BlockedDateController {
 
     /**
      * Gets all upcoming blocked dates.
+     * Supports conditional requests: a matching If-None-Match returns 304 Not Modified.
      */
     @GetMapping
     @Operation(summary = "Get blocked dates", description = "Retrieves all upcoming blocked dates")
@@ -54,8 +59,14 @@ public class BlockedDateController {
             @Parameter(description = "Start date for range filter")
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @Parameter(description = "End date for range filter")
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest request
     ) {
+        String etag = blockedDateService.getBlockedDatesEtag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(304).cacheControl(REVALIDATE).build();
+        }
+
         List<BlockedDateResponse> blockedDates;
         
         if (startDate != null && endDate != null) {
@@ -64,7 +75,7 @@ public class BlockedDateController {
             blockedDates = blockedDateService.getUpcomingBlockedDates();
         }
         
-        return ResponseEntity.ok(ApiResponse.success(blockedDates));
+        return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(etag).body(ApiResponse.success(blockedDates));
     }
 
     /**
@@ -1,24 +1,46 @@
 package com.tilingroofing.api.controller;
 
+import com.tilingroofing.api.dto.request.BulkUpdateBookingStatusRequest;
 import com.tilingroofing.api.dto.request.CreateBookingRequest;
 import com.tilingroofing.api.dto.request.UpdateBookingRequest;
 import com.tilingroofing.api.dto.request.UpdateBookingStatusRequest;
 import com.tilingroofing.api.dto.response.ApiResponse;
 import com.tilingroofing.api.dto.response.BookingResponse;
+import com.tilingroofing.api.dto.response.BulkStatusUpdateResponse;
 import com.tilingroofing.api.dto.response.PagedResponse;
+import com.tilingroofing.config.IdempotencyFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tilingroofing.api.dto.response.BookingImportEvent;
+import com.tilingroofing.service.BookingDataFormat;
+import com.tilingroofing.service.BookingExportService;
+import com.tilingroofing.service.BookingImportService;
 import com.tilingroofing.service.BookingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneId;
+import java.util.HexFormat;
 import java.util.List;
 
 /**
@@ -30,10 +52,25 @@ import java.util.List;
 @Tag(name = "Bookings", description = "Booking management endpoints")
 public class BookingController {
 
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final String CSV_MEDIA_TYPE = "text/csv";
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final BookingService bookingService;
+    private final BookingImportService bookingImportService;
+    private final BookingExportService bookingExportService;
+    private final ObjectMapper objectMapper;
 
-    public BookingController(BookingService bookingService) {
+    public BookingController(
+            BookingService bookingService,
+            BookingImportService bookingImportService,
+            BookingExportService bookingExportService,
+            ObjectMapper objectMapper
+    ) {
         this.bookingService = bookingService;
+        this.bookingImportService = bookingImportService;
+        this.bookingExportService = bookingExportService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -43,8 +80,15 @@ public class BookingController {
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(
             summary = "Create a new booking",
-            description = "Creates a booking with optional file uploads. Requires authentication.",
-            security = @SecurityRequirement(name = "bearerAuth")
+            description = "Creates a booking with optional file uploads. Requires authentication. "
+                    + "Send an Idempotency-Key header to make retries safe: a retry with the same key "
+                    + "gets the original response instead of creating another booking.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            parameters = @Parameter(
+                    in = ParameterIn.HEADER,
+                    name = IdempotencyFilter.IDEMPOTENCY_KEY_HEADER,
+                    description = "Client-generated unique key (e.g. a UUID) for this booking submission"
+            )
     )
     public ResponseEntity<ApiResponse<BookingResponse>> createBooking(
             @Valid @ModelAttribute CreateBookingRequest request,
@@ -61,22 +105,42 @@ public class BookingController {
 
     /**
      * Retrieves a booking by its reference number.
+     * Supports conditional requests: a matching If-None-Match or If-Modified-Since returns 304 Not Modified.
      */
     @GetMapping("/{bookingRef}")
     @Operation(summary = "Get booking by reference", description = "Retrieves a booking using its reference number")
     public ResponseEntity<ApiResponse<BookingResponse>> getBooking(
             @Parameter(description = "Booking reference (e.g., TR-12345)")
-            @PathVariable String bookingRef
+            @PathVariable String bookingRef,
+            WebRequest request
     ) {
         BookingResponse booking = bookingService.getBookingByRef(bookingRef);
-        return ResponseEntity.ok(ApiResponse.success(booking));
+        String etag = bookingEtag(booking);
+        long lastModified = booking.getUpdatedAt() != null
+                ? booking.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+        if (request.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(304).cacheControl(REVALIDATE).build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(REVALIDATE).eTag(etag);
+        if (lastModified >= 0) {
+            response.lastModified(lastModified);
+        }
+        return response.body(ApiResponse.success(booking));
     }
 
     /**
      * Lists all bookings with optional filtering and pagination (Admin).
+     * Supplying a cursor (empty for the first page) switches to keyset pagination.
+     * Supports conditional requests: a matching If-None-Match returns 304 Not Modified.
      */
     @GetMapping
-    @Operation(summary = "List bookings", description = "Lists all bookings with optional status filter and pagination")
+    @Operation(
+            summary = "List bookings",
+            description = "Lists all bookings with optional status filter and pagination. "
+                    + "Pass cursor (empty for the first page) to use cursor pagination; "
+                    + "follow nextCursor for subsequent pages."
+    )
     public ResponseEntity<ApiResponse<PagedResponse<BookingResponse>>> listBookings(
             @Parameter(description = "Filter by status (pending, confirmed, in_progress, completed, cancelled)")
             @RequestParam(required = false) String status,
@@ -85,17 +149,31 @@ public class BookingController {
             @Parameter(description = "Page number (0-based)")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size (max 100)")
-            @RequestParam(defaultValue = "20") int limit
+            @RequestParam(defaultValue = "20") int limit,
+            @Parameter(description = "Cursor from the previous page's nextCursor (empty for the first page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Include totalElements in cursor mode (runs a count query)")
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            WebRequest request
     ) {
         // Enforce maximum page size
         limit = Math.min(limit, 100);
         
-        PagedResponse<BookingResponse> bookings = bookingService.listBookings(status, search, page, limit);
-        return ResponseEntity.ok(ApiResponse.success(bookings));
+        // Tag the whole collection before reading it, so a concurrent write can only make the tag stale
+        String etag = bookingService.getBookingsEtag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(304).cacheControl(REVALIDATE).build();
+        }
+
+        PagedResponse<BookingResponse> bookings = cursor != null
+                ? bookingService.listBookingsByCursor(status, search, cursor, limit, includeTotal)
+                : bookingService.listBookings(status, search, page, limit);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(etag).body(ApiResponse.success(bookings));
     }
 
     /**
      * Lists bookings for the authenticated user with optional status filter and pagination.
+     * Supports conditional requests: a matching If-None-Match returns 304 Not Modified.
      */
     @GetMapping("/my-bookings")
     @Operation(
@@ -110,15 +188,27 @@ public class BookingController {
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size (max 100)")
             @RequestParam(defaultValue = "20") int limit,
-            Authentication authentication
+            @Parameter(description = "Cursor from the previous page's nextCursor (empty for the first page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Include totalElements in cursor mode (runs a count query)")
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            Authentication authentication,
+            WebRequest request
     ) {
         // Enforce maximum page size
         limit = Math.min(limit, 100);
         
         // Extract user ID from authentication context
         Long userId = Long.parseLong(authentication.getName());
-        PagedResponse<BookingResponse> bookings = bookingService.getUserBookings(userId, status, page, limit);
-        return ResponseEntity.ok(ApiResponse.success(bookings));
+        String etag = bookingService.getUserBookingsEtag(userId);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(304).cacheControl(REVALIDATE).build();
+        }
+
+        PagedResponse<BookingResponse> bookings = cursor != null
+                ? bookingService.getUserBookingsByCursor(userId, status, cursor, limit, includeTotal)
+                : bookingService.getUserBookings(userId, status, page, limit);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(etag).body(ApiResponse.success(bookings));
     }
 
     /**
@@ -156,6 +246,96 @@ public class BookingController {
         return ResponseEntity.ok(ApiResponse.success(booking, "Status updated successfully"));
     }
 
+    /**
+     * Updates the status of several bookings at once (Admin).
+     * Returns a result per booking; bookings that cannot transition are skipped.
+     */
+    @PatchMapping("/status")
+    @Operation(
+            summary = "Bulk update booking status",
+            description = "Updates the status of several bookings and returns a result per booking ID",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<ApiResponse<BulkStatusUpdateResponse>> updateBookingStatuses(
+            @Valid @RequestBody BulkUpdateBookingStatusRequest request
+    ) {
+        BulkStatusUpdateResponse result = bookingService.updateBookingStatuses(request.getIds(), request.getStatus());
+        String message = String.format("Updated %d of %d booking(s)",
+                result.getUpdated(), result.getResults().size());
+        return ResponseEntity.ok(ApiResponse.success(result, message));
+    }
+
+    /**
+     * Imports bookings from NDJSON or CSV (Admin).
+     * The body is read as a stream and the response streams one NDJSON event per line:
+     * an error for each rejected row, progress after each batch, and a final summary.
+     */
+    @PostMapping(value = "/import", consumes = {NDJSON_MEDIA_TYPE, CSV_MEDIA_TYPE}, produces = NDJSON_MEDIA_TYPE)
+    @Operation(
+            summary = "Import bookings",
+            description = "Imports bookings from NDJSON (one object per line) or CSV (with a header line). "
+                    + "Each row uses the booking form fields plus the customer's email and name.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<StreamingResponseBody> importBookings(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) {
+        BookingDataFormat format = BookingDataFormat.fromMediaType(contentType);
+
+        StreamingResponseBody stream = output -> bookingImportService.importBookings(
+                body, format, event -> writeEvent(output, event));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(BookingDataFormat.NDJSON.getMediaType()))
+                .body(stream);
+    }
+
+    /**
+     * Exports bookings as CSV or NDJSON (Admin).
+     * Rows are streamed from the database straight to the response, so exports of any size
+     * run in constant memory and without paging or count queries.
+     */
+    @GetMapping("/export")
+    @Operation(
+            summary = "Export bookings",
+            description = "Streams all bookings matching the filters as CSV or NDJSON, oldest first",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @Parameter(description = "Output format (csv or ndjson)")
+            @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Filter by status")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "First preferred date, inclusive (YYYY-MM-DD)")
+            @RequestParam(required = false) String from,
+            @Parameter(description = "Last preferred date, inclusive (YYYY-MM-DD)")
+            @RequestParam(required = false) String to
+    ) {
+        BookingDataFormat dataFormat = BookingDataFormat.fromValue(format);
+        // Validate before streaming starts, so bad filters still produce an error response
+        BookingExportService.Filter filter = bookingExportService.createFilter(status, from, to);
+
+        StreamingResponseBody stream = output -> bookingExportService.exportBookings(filter, dataFormat, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(dataFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookings." + dataFormat.getExtension() + "\"")
+                .body(stream);
+    }
+
+    /**
+     * Writes an import event as one NDJSON line and flushes it to the client.
+     */
+    private void writeEvent(OutputStream output, BookingImportEvent event) {
+        try {
+            output.write(objectMapper.writeValueAsBytes(event));
+            output.write('\n');
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Client disconnected during booking import", e);
+        }
+    }
+
     /**
      * Deletes a booking by its ID (Admin).
      */
@@ -172,5 +352,20 @@ public class BookingController {
         bookingService.deleteBooking(id);
         return ResponseEntity.ok(ApiResponse.success(null, "Booking deleted successfully"));
     }
-}
 
+    /**
+     * Builds the entity tag of a booking from a hash of its content, so any change to what the
+     * client would receive - including the customer's name - changes the tag, however close
+     * together the changes are.
+     */
+    private String bookingEtag(BookingResponse booking) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return "\"" + HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(booking))) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize booking " + booking.getId(), e);
+        }
+    }
+}
@@ -7,8 +7,10 @@ import com.tilingroofing.service.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST controller for notification operations.
@@ -19,6 +21,8 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Notifications", description = "Notification management endpoints")
 public class NotificationController {
 
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final NotificationService notificationService;
 
     public NotificationController(NotificationService notificationService) {
@@ -27,6 +31,7 @@ public class NotificationController {
 
     /**
      * Retrieves all notifications with pagination.
+     * Supports conditional requests: a matching If-None-Match returns 304 Not Modified.
      */
     @GetMapping
     @Operation(
@@ -37,13 +42,19 @@ public class NotificationController {
             @Parameter(description = "Page number (0-based)")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size (max 100)")
-            @RequestParam(defaultValue = "20") int limit
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest request
     ) {
         // Enforce maximum page size
         limit = Math.min(limit, 100);
         
+        String etag = notificationService.getNotificationsEtag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(304).cacheControl(REVALIDATE).build();
+        }
+
         PagedResponse<NotificationResponse> notifications = notificationService.getAllNotifications(page, limit);
-        return ResponseEntity.ok(ApiResponse.success(notifications));
+        return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(etag).body(ApiResponse.success(notifications));
     }
 
     /**
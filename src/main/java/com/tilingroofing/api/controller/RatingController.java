@@ -10,10 +10,12 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST controller for rating operations.
@@ -24,6 +26,8 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Ratings", description = "Rating and review management endpoints")
 public class RatingController {
 
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final RatingService ratingService;
 
     public RatingController(RatingService ratingService) {
@@ -123,28 +127,38 @@ public class RatingController {
 
     /**
      * Gets the average rating across all ratings.
+     * Supports conditional requests: a matching If-None-Match returns 304 Not Modified.
      */
     @GetMapping("/stats/average")
     @Operation(
             summary = "Get average rating",
             description = "Calculates and returns the average rating across all ratings"
     )
-    public ResponseEntity<ApiResponse<Double>> getAverageRating() {
+    public ResponseEntity<ApiResponse<Double>> getAverageRating(WebRequest request) {
+        String etag = ratingService.getRatingsEtag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(304).cacheControl(REVALIDATE).build();
+        }
         Double average = ratingService.getAverageRating();
-        return ResponseEntity.ok(ApiResponse.success(average));
+        return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(etag).body(ApiResponse.success(average));
     }
 
     /**
      * Gets the total count of ratings.
+     * Supports conditional requests: a matching If-None-Match returns 304 Not Modified.
      */
     @GetMapping("/stats/count")
     @Operation(
             summary = "Get total ratings count",
             description = "Returns the total number of ratings"
     )
-    public ResponseEntity<ApiResponse<Long>> getTotalRatingsCount() {
+    public ResponseEntity<ApiResponse<Long>> getTotalRatingsCount(WebRequest request) {
+        String etag = ratingService.getRatingsEtag();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(304).cacheControl(REVALIDATE).build();
+        }
         Long count = ratingService.getTotalRatingsCount();
-        return ResponseEntity.ok(ApiResponse.success(count));
+        return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(etag).body(ApiResponse.success(count));
     }
 }
 
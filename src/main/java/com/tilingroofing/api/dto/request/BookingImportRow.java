@@ -0,0 +1,29 @@
+package com.tilingroofing.api.dto.request;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * A single row of a booking import.
+ * Carries the booking form fields plus the customer the booking belongs to;
+ * customers are matched by email and created if they don't exist.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class BookingImportRow extends CreateBookingRequest {
+
+    @NotBlank(message = "Email is required")
+    @Email(message = "Email must be a valid email address")
+    @Size(max = 255, message = "Email must not exceed 255 characters")
+    private String email;
+
+    @Size(max = 200, message = "Name must not exceed 200 characters")
+    private String name;
+}
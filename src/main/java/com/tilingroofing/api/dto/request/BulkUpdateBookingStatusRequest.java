@@ -0,0 +1,31 @@
+package com.tilingroofing.api.dto.request;
+
+import com.tilingroofing.common.validation.ValidBookingStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for updating the status of several bookings at once.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUpdateBookingStatusRequest {
+
+    @NotEmpty(message = "At least one booking ID is required")
+    @Size(max = 200, message = "Cannot update more than 200 bookings at once")
+    private List<@NotNull(message = "Booking ID must not be null") Long> ids;
+
+    @NotBlank(message = "Status is required")
+    @ValidBookingStatus
+    private String status;
+}
@@ -0,0 +1,24 @@
+package com.tilingroofing.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response DTO representing a bookable start date and its bookable time slots.
+ * For jobs that take several days, endDate is the last day the job would occupy.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailableDateResponse {
+
+    private LocalDate date;
+    private LocalDate endDate;
+    private List<String> slots;
+}
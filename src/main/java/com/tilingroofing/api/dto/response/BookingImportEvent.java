@@ -0,0 +1,35 @@
+package com.tilingroofing.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A line of booking import output.
+ * Errors are reported per input line; progress and summary events carry running totals.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingImportEvent {
+
+    public static final String TYPE_ERROR = "error";
+    public static final String TYPE_PROGRESS = "progress";
+    public static final String TYPE_SUMMARY = "summary";
+
+    private String type;
+
+    // Error events
+    private Long line;
+    private String code;
+    private String message;
+
+    // Progress and summary events
+    private Long processed;
+    private Long imported;
+    private Long failed;
+}
@@ -0,0 +1,42 @@
+package com.tilingroofing.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a bulk booking status update.
+ * Contains one result per requested booking ID, in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkStatusUpdateResponse {
+
+    private String status;
+    private int updated;
+    private int failed;
+    private List<Result> results;
+
+    /**
+     * Outcome of the status update for a single booking.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Result {
+        private Long id;
+        private String bookingRef;
+        private boolean success;
+        private String previousStatus;
+        private String errorCode;
+        private String message;
+    }
+}
@@ -0,0 +1,32 @@
+package com.tilingroofing.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Response DTO representing booking availability for a month.
+ * Availability is encoded as bitmasks: bit 0 is the 1st of the month, bit 1 the 2nd, and so on.
+ * A set bit means the day can be booked.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthAvailabilityResponse {
+
+    // Month in yyyy-MM format
+    private String month;
+
+    // Number of days in the month
+    private int days;
+
+    // Days with at least one bookable time slot
+    private long available;
+
+    // Bookable days per time slot, keyed by time slot value
+    private Map<String, Long> slots;
+}
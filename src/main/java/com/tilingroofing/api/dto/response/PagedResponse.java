@@ -1,5 +1,6 @@
 package com.tilingroofing.api.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,6 +11,9 @@ import java.util.List;
 
 /**
  * Generic paginated response wrapper.
+ * Supports both offset paging (page/totalPages) and cursor paging (nextCursor).
+ * In cursor mode, page and totalPages are omitted, and totalElements is only
+ * present when explicitly requested.
  *
  * @param <T> The type of items in the page
  */
@@ -17,15 +21,17 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PagedResponse<T> {
 
     private List<T> content;
-    private int page;
+    private Integer page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
     private boolean first;
     private boolean last;
+    private String nextCursor;
 
     /**
      * Creates a PagedResponse from a Spring Data Page object.
@@ -56,5 +62,26 @@ public class PagedResponse<T> {
                 .last(page.isLast())
                 .build();
     }
-}
 
+    /**
+     * Creates a PagedResponse for a cursor-based (keyset) page.
+     *
+     * @param content The items on this page
+     * @param size The requested page size
+     * @param first Whether this is the first page
+     * @param nextCursor Cursor for the next page, or null if this is the last page
+     * @param totalElements Total matching items, or null if not requested
+     */
+    public static <R> PagedResponse<R> fromCursor(
+            List<R> content, int size, boolean first, String nextCursor, Long totalElements
+    ) {
+        return PagedResponse.<R>builder()
+                .content(content)
+                .size(size)
+                .totalElements(totalElements)
+                .first(first)
+                .last(nextCursor == null)
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
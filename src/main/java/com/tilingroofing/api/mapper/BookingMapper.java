@@ -3,9 +3,13 @@ package com.tilingroofing.api.mapper;
 import com.tilingroofing.api.dto.response.BlockedDateResponse;
 import com.tilingroofing.api.dto.response.BookingResponse;
 import com.tilingroofing.api.dto.response.FileResponse;
+import com.tilingroofing.api.dto.response.UserInfo;
 import com.tilingroofing.domain.entity.BlockedDate;
 import com.tilingroofing.domain.entity.Booking;
 import com.tilingroofing.domain.entity.BookingFile;
+import com.tilingroofing.domain.projection.BlockedDateView;
+import com.tilingroofing.domain.projection.BookingFileView;
+import com.tilingroofing.domain.projection.BookingListView;
 import org.mapstruct.*;
 
 import java.util.List;
@@ -80,5 +84,66 @@ public interface BookingMapper {
     @Mapping(target = "preferredDate", source = "preferredDate")
     BlockedDateResponse.BookingSummary toBookingSummary(Booking booking);
 
+    /**
+     * Converts a booking list view and its files to BookingResponse DTO.
+     */
+    @Mapping(target = "status", expression = "java(view.status().getValue())")
+    @Mapping(target = "jobSize", expression = "java(view.jobSize().getValue())")
+    @Mapping(target = "timeSlot", expression = "java(view.timeSlot().getValue())")
+    @Mapping(target = "user", source = "view")
+    @Mapping(target = "files", source = "files")
+    BookingResponse toBookingResponse(BookingListView view, List<FileResponse> files);
+
+    /**
+     * Extracts the customer of a booking list view as UserInfo.
+     */
+    @Mapping(target = "id", expression = "java(view.userId().toString())")
+    @Mapping(target = "email", source = "userEmail")
+    @Mapping(target = "name", source = "userName")
+    @Mapping(target = "picture", source = "userPicture")
+    @Mapping(target = "locale", source = "userLocale")
+    @Mapping(target = "role", source = "userRole")
+    UserInfo toUserInfo(BookingListView view);
+
+    /**
+     * Converts a BookingFileView to FileResponse DTO.
+     * URL rules match {@link #toFileResponse(BookingFile)}.
+     */
+    @Mapping(target = "url", expression = "java(file.filePath() != null && (file.filePath().startsWith(\"http://\") || file.filePath().startsWith(\"https://\")) ? file.filePath() : \"/api/files/\" + file.id())")
+    FileResponse toFileResponse(BookingFileView file);
+
+    /**
+     * Converts a BlockedDateView to BlockedDateResponse DTO.
+     * Booking and user information are included only when the date is linked to a booking.
+     */
+    @Mapping(target = "user", expression = "java(view.userId() != null ? toUserInfo(view) : null)")
+    @Mapping(target = "booking", expression = "java(view.bookingId() != null ? toBookingSummary(view) : null)")
+    BlockedDateResponse toBlockedDateResponse(BlockedDateView view);
+
+    /**
+     * Converts a list of BlockedDateView projections to BlockedDateResponse DTOs.
+     */
+    List<BlockedDateResponse> toBlockedDateViewResponseList(List<BlockedDateView> views);
+
+    /**
+     * Extracts the customer of a blocked date view as UserInfo.
+     */
+    @Mapping(target = "id", expression = "java(view.userId().toString())")
+    @Mapping(target = "email", source = "userEmail")
+    @Mapping(target = "name", source = "userName")
+    @Mapping(target = "picture", source = "userPicture")
+    @Mapping(target = "locale", source = "userLocale")
+    @Mapping(target = "role", source = "userRole")
+    UserInfo toUserInfo(BlockedDateView view);
+
+    /**
+     * Extracts the booking of a blocked date view as BookingSummary.
+     */
+    @Mapping(target = "id", source = "bookingId")
+    @Mapping(target = "status", expression = "java(view.bookingStatus().getValue())")
+    @Mapping(target = "jobSize", expression = "java(view.jobSize().getValue())")
+    @Mapping(target = "timeSlot", expression = "java(view.timeSlot().getValue())")
+    BlockedDateResponse.BookingSummary toBookingSummary(BlockedDateView view);
+
 }
 
@@ -0,0 +1,11 @@
+package com.tilingroofing.common.exception;
+
+/**
+ * Exception thrown when an email cannot be handed to the mail server.
+ */
+public class EmailDeliveryException extends RuntimeException {
+
+    public EmailDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,29 +1,101 @@
 package com.tilingroofing.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Async configuration for background task execution.
- * Used primarily for sending emails asynchronously.
+ * Used for @Async work, for uploading booking files in parallel and for rendering emails in
+ * parallel. Emails are delivered through the outbox (OutboxDispatcher) rather than on these executors.
+ *
+ * When virtual threads are enabled (spring.threads.virtual.enabled on a Java 21 runtime) the
+ * executors start a virtual thread per task instead of using a pool. Their concurrency limits
+ * take the place of the pool sizes; a submitter waits while an executor is at its limit.
  */
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
+    private final boolean virtualThreads;
+
+    public AsyncConfig(Environment environment) {
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    }
+
+    /**
+     * Executor for @Async work.
+     * With virtual threads, at most as many tasks run at once as there are pooled database connections.
+     */
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    public Executor taskExecutor(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize
+    ) {
+        if (virtualThreads) {
+            return virtualThreadExecutor("async-", maximumPoolSize);
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(5);
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("async-");
+        executor.setTaskDecorator(ReplicaRouting::propagate);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Shared pool for booking file uploads, bounded across all requests.
+     * When the pool and its queue are full the request thread uploads the file itself,
+     * which slows that request down instead of failing it.
+     */
+    @Bean(name = "fileUploadExecutor")
+    public Executor fileUploadExecutor(FileStorageProperties properties) {
+        if (virtualThreads) {
+            return virtualThreadExecutor("upload-", properties.getUploadThreads());
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getUploadThreads());
+        executor.setMaxPoolSize(properties.getUploadThreads());
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
         executor.initialize();
         return executor;
     }
-}
 
+    /**
+     * Pool for rendering email templates. Rendering is CPU-bound, so the pool is small; when it
+     * and its queue are full the dispatcher thread renders the email itself.
+     */
+    @Bean(name = "emailRenderExecutor")
+    public Executor emailRenderExecutor(@Value("${app.mail.render-threads:4}") int renderThreads) {
+        if (virtualThreads) {
+            return virtualThreadExecutor("email-render-", renderThreads);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(renderThreads);
+        executor.setMaxPoolSize(renderThreads);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("email-render-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    private static Executor virtualThreadExecutor(String threadNamePrefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        executor.setTaskDecorator(ReplicaRouting::propagate);
+        return executor;
+    }
+}
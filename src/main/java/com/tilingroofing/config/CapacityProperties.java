@@ -0,0 +1,92 @@
+package com.tilingroofing.config;
+
+import com.tilingroofing.domain.enums.JobSize;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for booking capacity.
+ * Each bookable time slot of a day has a number of capacity units (roughly, crews),
+ * and each job size consumes a weight of those units for a number of consecutive days.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.capacity")
+public class CapacityProperties {
+
+    private int slotCapacity = 3;
+    private Map<JobSize, Integer> jobWeights = new EnumMap<>(Map.of(
+            JobSize.SMALL, 1,
+            JobSize.MEDIUM, 2,
+            JobSize.LARGE, 3));
+    private Map<JobSize, Integer> jobDays = new EnumMap<>(Map.of(
+            JobSize.SMALL, 1,
+            JobSize.MEDIUM, 1,
+            JobSize.LARGE, 3));
+    private int lockStripes = 64;
+    private long lockTimeoutMs = 2000;
+
+    public int getSlotCapacity() {
+        return slotCapacity;
+    }
+
+    public void setSlotCapacity(int slotCapacity) {
+        this.slotCapacity = slotCapacity;
+    }
+
+    public Map<JobSize, Integer> getJobWeights() {
+        return jobWeights;
+    }
+
+    public void setJobWeights(Map<JobSize, Integer> jobWeights) {
+        this.jobWeights.putAll(jobWeights);
+    }
+
+    public Map<JobSize, Integer> getJobDays() {
+        return jobDays;
+    }
+
+    public void setJobDays(Map<JobSize, Integer> jobDays) {
+        this.jobDays.putAll(jobDays);
+    }
+
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
+    public long getLockTimeoutMs() {
+        return lockTimeoutMs;
+    }
+
+    public void setLockTimeoutMs(long lockTimeoutMs) {
+        this.lockTimeoutMs = lockTimeoutMs;
+    }
+
+    /**
+     * Returns the capacity units consumed by a job of the given size.
+     */
+    public int weightOf(JobSize jobSize) {
+        return jobWeights.getOrDefault(jobSize, 1);
+    }
+
+    /**
+     * Returns the number of consecutive days a job of the given size occupies.
+     */
+    public int daysOf(JobSize jobSize) {
+        return Math.max(1, jobDays.getOrDefault(jobSize, 1));
+    }
+
+    /**
+     * Returns the smallest job weight, i.e. the room a slot needs to take any booking at all.
+     */
+    public int minWeight() {
+        return jobWeights.isEmpty() ? 1 : Collections.min(jobWeights.values());
+    }
+}
@@ -67,6 +67,7 @@ public class CorsConfig {
         // Expose headers that clients might need
         config.addExposedHeader("Content-Disposition");
         config.addExposedHeader("Authorization");
+        config.addExposedHeader(IdempotencyFilter.REPLAYED_HEADER);
         
         return config;
     }
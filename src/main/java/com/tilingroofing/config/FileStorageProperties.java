@@ -16,6 +16,8 @@ public class FileStorageProperties {
     private String uploadDir = "./uploads";
     private String allowedTypes = "image/jpeg,image/png,image/gif,image/webp,application/pdf";
     private long maxFileSize = 10485760L; // 10MB
+    private int uploadThreads = 8;
+    private int uploadsPerRequest = 4;
 
     public String getUploadDir() {
         return uploadDir;
@@ -44,4 +46,20 @@ public class FileStorageProperties {
     public void setMaxFileSize(long maxFileSize) {
         this.maxFileSize = maxFileSize;
     }
+
+    public int getUploadThreads() {
+        return uploadThreads;
+    }
+
+    public void setUploadThreads(int uploadThreads) {
+        this.uploadThreads = uploadThreads;
+    }
+
+    public int getUploadsPerRequest() {
+        return uploadsPerRequest;
+    }
+
+    public void setUploadsPerRequest(int uploadsPerRequest) {
+        this.uploadsPerRequest = uploadsPerRequest;
+    }
 }
@@ -0,0 +1,307 @@
+package com.tilingroofing.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tilingroofing.api.dto.response.ApiResponse;
+import com.tilingroofing.service.IdempotencyStore;
+import com.tilingroofing.service.IdempotencyStore.StoredResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.Part;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Idempotency-Key filter for mutating API requests.
+ *
+ * When an authenticated POST, PUT, PATCH or DELETE request carries an Idempotency-Key header,
+ * the first request with that key (per caller) runs normally and its response is stored. Retries
+ * with the same key get the stored response replayed, with an Idempotent-Replayed header, without
+ * running the request again - no new booking, uploads, reservations or emails. A key reused for
+ * a different request (method, path or body) is rejected with 422.
+ *
+ * Anonymous requests are passed through: without a caller to scope the key to, a stored
+ * response (e.g. a sign-in token) could be replayed to anyone sending the same key.
+ *
+ * Responses with a 5xx status are not stored, so the client can retry them. Streaming
+ * endpoints (app.idempotency.excluded-paths) are passed through, since their responses
+ * can't be buffered.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final List<String> excludedPaths;
+    private final int maxBodyBytes;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public IdempotencyFilter(
+            IdempotencyStore idempotencyStore,
+            ObjectMapper objectMapper,
+            @Value("${app.idempotency.excluded-paths:}") List<String> excludedPaths,
+            @Value("${app.idempotency.max-body-bytes:1048576}") int maxBodyBytes
+    ) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+        this.excludedPaths = excludedPaths;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!MUTATING_METHODS.contains(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return excludedPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (!StringUtils.hasText(key) || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "INVALID_IDEMPOTENCY_KEY",
+                    "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        String keyHash = hash(authentication.getName() + "\n" + key);
+        if (!isForm(request)) {
+            request = new CachedBodyRequest(request);
+        }
+        String fingerprint;
+        try {
+            fingerprint = request.getMethod() + " " + request.getRequestURI() + " " + bodyHash(request);
+        } catch (IllegalStateException e) {
+            // The multipart body is too large to parse - let the multipart resolver reject it
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (replayIfCompleted(keyHash, fingerprint, response)) {
+            return;
+        }
+        if (!idempotencyStore.claim(keyHash, fingerprint)) {
+            // Either it finished between the lookup and the claim, or it is still running
+            if (replayIfCompleted(keyHash, fingerprint, response)) {
+                return;
+            }
+            if (!fingerprint.equals(idempotencyStore.findFingerprint(keyHash).orElse(fingerprint))) {
+                writeKeyReused(response);
+                return;
+            }
+            writeError(response, HttpStatus.CONFLICT, "IDEMPOTENCY_KEY_IN_USE",
+                    "A request with this Idempotency-Key is still being processed");
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+
+            int status = wrapper.getStatus();
+            if (status < 500 && wrapper.getContentSize() <= maxBodyBytes) {
+                idempotencyStore.complete(keyHash, new StoredResponse(
+                        fingerprint, status, wrapper.getContentType(), wrapper.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                idempotencyStore.release(keyHash);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Replays the stored response for a key, if the request with that key has finished.
+     *
+     * @return true if a response was written
+     */
+    private boolean replayIfCompleted(String keyHash, String fingerprint, HttpServletResponse response)
+            throws IOException {
+        Optional<StoredResponse> stored = idempotencyStore.findCompleted(keyHash);
+        if (stored.isEmpty()) {
+            return false;
+        }
+        if (!stored.get().fingerprint().equals(fingerprint)) {
+            writeKeyReused(response);
+            return true;
+        }
+
+        log.debug("Replaying stored response for idempotent {}", fingerprint);
+        response.setStatus(stored.get().status());
+        if (stored.get().contentType() != null) {
+            response.setContentType(stored.get().contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        byte[] body = stored.get().body();
+        if (body != null) {
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+        return true;
+    }
+
+    private void writeKeyReused(HttpServletResponse response) throws IOException {
+        writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, "IDEMPOTENCY_KEY_REUSED",
+                "This Idempotency-Key was already used for a different request");
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String code, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(code, message));
+    }
+
+    /**
+     * Whether the body is a form, which the container parses itself and so must not be consumed here.
+     */
+    private static boolean isForm(HttpServletRequest request) {
+        String contentType = request.getContentType() != null ? request.getContentType().toLowerCase() : "";
+        return contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)
+                || contentType.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+    }
+
+    /**
+     * Hashes the request body. Forms are hashed from what the container parsed (and keeps for
+     * the application): multipart bodies part by part, url-encoded ones by parameter.
+     */
+    private String bodyHash(HttpServletRequest request) throws IOException, ServletException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            if (request instanceof CachedBodyRequest cached) {
+                digest.update(cached.body);
+            } else if (request.getContentType().toLowerCase().startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE)) {
+                for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+                    digest.update((parameter.getKey() + "=" + Arrays.toString(parameter.getValue()) + "\n")
+                            .getBytes(StandardCharsets.UTF_8));
+                }
+            } else {
+                for (Part part : request.getParts()) {
+                    digest.update((part.getName() + "\n" + part.getSubmittedFileName() + "\n")
+                            .getBytes(StandardCharsets.UTF_8));
+                    try (InputStream content = part.getInputStream()) {
+                        digest.update(StreamUtils.copyToByteArray(content));
+                    }
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Request whose body has been read up front (to hash it) and is replayed to the application.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream content = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return content.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return content.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return content.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Buffered request bodies are read synchronously");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), encoding));
+        }
+    }
+}
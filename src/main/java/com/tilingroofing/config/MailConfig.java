@@ -0,0 +1,52 @@
+package com.tilingroofing.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Mail sender configuration.
+ * Replaces the auto-configured JavaMailSender with one that reuses pooled SMTP connections,
+ * configured from the usual spring.mail settings.
+ */
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+public class MailConfig {
+
+    @Bean
+    public PooledJavaMailSender mailSender(
+            MailProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${app.mail.pool.size:2}") int poolSize,
+            @Value("${app.mail.pool.borrow-timeout-ms:10000}") long borrowTimeoutMs,
+            @Value("${app.mail.pool.validate-after-seconds:30}") long validateAfterSeconds,
+            @Value("${app.mail.pool.idle-timeout-seconds:240}") long idleTimeoutSeconds
+    ) {
+        PooledJavaMailSender sender = new PooledJavaMailSender(
+                poolSize,
+                Duration.ofMillis(borrowTimeoutMs),
+                Duration.ofSeconds(validateAfterSeconds),
+                Duration.ofSeconds(idleTimeoutSeconds),
+                meterRegistry);
+        sender.setHost(properties.getHost());
+        if (properties.getPort() != null) {
+            sender.setPort(properties.getPort());
+        }
+        sender.setUsername(properties.getUsername());
+        sender.setPassword(properties.getPassword());
+        sender.setProtocol(properties.getProtocol());
+        if (properties.getDefaultEncoding() != null) {
+            sender.setDefaultEncoding(properties.getDefaultEncoding().name());
+        }
+        Properties javaMailProperties = new Properties();
+        javaMailProperties.putAll(properties.getProperties());
+        sender.setJavaMailProperties(javaMailProperties);
+        return sender;
+    }
+}
@@ -0,0 +1,289 @@
+package com.tilingroofing.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JavaMailSender that keeps a small pool of connected, authenticated SMTP transports.
+ *
+ * The default sender opens a connection (with STARTTLS and AUTH) for every send call and closes
+ * it afterwards. Here a send borrows an open transport instead, sends all of its messages over it
+ * and returns it to the pool, so the handshake is only paid when a connection is first opened.
+ *
+ * A transport idle for longer than validate-after is checked with a NOOP before reuse, and one
+ * idle for longer than idle-timeout is closed (servers drop idle SMTP sessions on their own).
+ * If a send fails and the connection turns out to be closed, it is reopened and the message
+ * retried once; a message the server rejects on a live connection (e.g. an invalid recipient)
+ * fails on its own without dropping the connection.
+ * Failures are reported per message through MailSendException, as with JavaMailSenderImpl.
+ */
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PooledJavaMailSender.class);
+    private static final String HEADER_MESSAGE_ID = "Message-ID";
+
+    private final BlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final Semaphore connections;
+    private final Duration borrowTimeout;
+    private final long validateAfterNanos;
+    private final long idleTimeoutNanos;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter opened;
+    private final Timer sendTimer;
+
+    public PooledJavaMailSender(
+            int poolSize,
+            Duration borrowTimeout,
+            Duration validateAfter,
+            Duration idleTimeout,
+            MeterRegistry meterRegistry
+    ) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Mail connection pool size must be positive");
+        }
+        this.connections = new Semaphore(poolSize, true);
+        this.borrowTimeout = borrowTimeout;
+        this.validateAfterNanos = validateAfter.toNanos();
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.sent = Counter.builder("mail.messages.sent")
+                .description("Emails accepted by the mail server")
+                .register(meterRegistry);
+        this.failed = Counter.builder("mail.messages.failed")
+                .description("Emails that could not be sent")
+                .register(meterRegistry);
+        this.opened = Counter.builder("mail.connections.opened")
+                .description("SMTP connections opened")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("mail.send")
+                .description("Time to send one email over an open connection")
+                .register(meterRegistry);
+        Gauge.builder("mail.connections.idle", idle, BlockingDeque::size)
+                .description("Open SMTP connections waiting in the pool")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        PooledTransport transport = borrow();
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                Object original = originalMessages != null ? originalMessages[i] : mimeMessages[i];
+                if (transport == null) {
+                    try {
+                        transport = open();
+                    } catch (ConnectionFailedException e) {
+                        // The mail server is unreachable - every remaining message fails
+                        for (int j = i; j < mimeMessages.length; j++) {
+                            failedMessages.put(originalMessages != null ? originalMessages[j] : mimeMessages[j], e.failure());
+                        }
+                        failed.increment(mimeMessages.length - i);
+                        break;
+                    }
+                }
+                try {
+                    transport = sendMessage(transport, mimeMessages[i]);
+                    sent.increment();
+                } catch (ConnectionFailedException e) {
+                    transport = null;
+                    failedMessages.put(original, e.failure());
+                    failed.increment();
+                } catch (Exception e) {
+                    failedMessages.put(original, e);
+                    failed.increment();
+                }
+            }
+        } finally {
+            release(transport);
+        }
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    /**
+     * Sends one message, reopening the connection and retrying once if it has dropped.
+     *
+     * @return the transport to use for the next message
+     * @throws ConnectionFailedException if the retry failed too; the connection has been closed
+     */
+    private PooledTransport sendMessage(PooledTransport transport, MimeMessage message) throws Exception {
+        prepare(message);
+        Address[] addresses = message.getAllRecipients() != null ? message.getAllRecipients() : new Address[0];
+        Timer.Sample sample = Timer.start();
+        try {
+            transport.transport().sendMessage(message, addresses);
+            return transport;
+        } catch (MessagingException e) {
+            if (transport.transport().isConnected()) {
+                // Rejected by the server (e.g. an invalid recipient); the connection is still fine
+                throw e;
+            }
+            log.debug("SMTP connection failed while sending, reconnecting: {}", e.getMessage());
+            close(transport);
+            PooledTransport reopened = open();
+            try {
+                reopened.transport().sendMessage(message, addresses);
+                return reopened;
+            } catch (MessagingException retryFailure) {
+                close(reopened);
+                throw new ConnectionFailedException(retryFailure);
+            }
+        } finally {
+            sample.stop(sendTimer);
+        }
+    }
+
+    private void prepare(MimeMessage message) throws MessagingException {
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        String messageId = message.getMessageID();
+        message.saveChanges();
+        if (messageId != null) {
+            // Preserve explicitly specified message id, as saveChanges() resets it
+            message.setHeader(HEADER_MESSAGE_ID, messageId);
+        }
+    }
+
+    /**
+     * Takes an open transport from the pool, or opens a new one if none is idle.
+     * Waits up to borrow-timeout while every connection is in use.
+     */
+    private PooledTransport borrow() {
+        try {
+            if (!connections.tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MailSendException("No SMTP connection became available within " + borrowTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for an SMTP connection", e);
+        }
+
+        try {
+            PooledTransport transport;
+            while ((transport = idle.pollFirst()) != null) {
+                long idleNanos = System.nanoTime() - transport.releasedAt();
+                if (idleNanos > idleTimeoutNanos) {
+                    close(transport);
+                } else if (idleNanos > validateAfterNanos && !transport.transport().isConnected()) {
+                    log.debug("Dropping SMTP connection closed by the server");
+                    close(transport);
+                } else {
+                    return transport;
+                }
+            }
+            return open();
+        } catch (ConnectionFailedException e) {
+            connections.release();
+            if (e.failure() instanceof AuthenticationFailedException) {
+                throw new MailAuthenticationException(e.failure());
+            }
+            throw new MailSendException("Mail server connection failed", e.failure());
+        } catch (RuntimeException e) {
+            connections.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a transport to the pool. A null transport (the connection was lost) frees its slot.
+     */
+    private void release(PooledTransport transport) {
+        if (transport != null) {
+            idle.offerFirst(new PooledTransport(transport.transport(), System.nanoTime()));
+        }
+        connections.release();
+    }
+
+    private PooledTransport open() throws ConnectionFailedException {
+        try {
+            Transport transport = connectTransport();
+            opened.increment();
+            return new PooledTransport(transport, System.nanoTime());
+        } catch (MessagingException e) {
+            throw new ConnectionFailedException(e);
+        }
+    }
+
+    private void close(PooledTransport transport) {
+        try {
+            transport.transport().close();
+        } catch (MessagingException e) {
+            log.debug("Failed to close SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Periodically closes connections that have been idle longer than the idle timeout.
+     */
+    @Scheduled(fixedDelayString = "${app.mail.pool.evict-interval-ms:30000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (PooledTransport transport : idle) {
+            if (now - transport.releasedAt() > idleTimeoutNanos && idle.remove(transport)) {
+                close(transport);
+            }
+        }
+    }
+
+    /**
+     * Closes every idle connection on shutdown.
+     */
+    @Override
+    public void destroy() {
+        PooledTransport transport;
+        while ((transport = idle.pollFirst()) != null) {
+            close(transport);
+        }
+    }
+
+    /**
+     * An open transport and when it was last returned to the pool.
+     */
+    private record PooledTransport(Transport transport, long releasedAt) {
+    }
+
+    /**
+     * A connection to the mail server couldn't be opened.
+     */
+    private static class ConnectionFailedException extends Exception {
+
+        private final MessagingException failure;
+
+        ConnectionFailedException(MessagingException failure) {
+            super(failure);
+            this.failure = failure;
+        }
+
+        MessagingException failure() {
+            return failure;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.tilingroofing.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes stickiness for the read-replica datasource.
+ *
+ * Every read made while handling a mutating request goes to the primary. After a caller's
+ * successful write, their requests keep reading from the primary for a short window
+ * (app.datasource.replica.sticky-window-seconds, longer than the allowed replica lag), so
+ * they never see a replica that hasn't caught up with their own change yet.
+ *
+ * Recent writers are tracked per instance; a caller whose next request lands on another
+ * instance may read from a replica up to the allowed lag behind.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(
+            @Value("${app.datasource.replica.sticky-window-seconds:10}") long stickyWindowSeconds
+    ) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofSeconds(stickyWindowSeconds))
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String caller = callerId();
+        boolean mutating = MUTATING_METHODS.contains(request.getMethod());
+        if (!mutating && (caller == null || recentWriters.getIfPresent(caller) == null)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ReplicaRouting.requirePrimary();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRouting.clear();
+            if (mutating && caller != null && response.getStatus() < 400) {
+                recentWriters.put(caller, Boolean.TRUE);
+            }
+        }
+    }
+
+    /**
+     * Identifies the caller, or returns null for anonymous requests.
+     */
+    private String callerId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                && !"anonymousUser".equals(authentication.getName())
+                ? authentication.getName()
+                : null;
+    }
+}
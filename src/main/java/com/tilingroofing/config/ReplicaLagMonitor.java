@@ -0,0 +1,119 @@
+package com.tilingroofing.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Periodically checks each read replica's replication lag.
+ *
+ * A replica is usable when it answers and is no more than maxLagSeconds behind the primary.
+ * Lag is read with the configured status query (SHOW REPLICA STATUS on MySQL). A replica that
+ * returns no status row isn't replicating at all - e.g. a second local schema - and counts as
+ * up to date; a null lag means replication has stopped. With no lag query configured (e.g. an
+ * H2 stand-in) only the connection is checked.
+ *
+ * Until the first check completes no replica is usable, so reads start on the primary.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final Map<String, DataSource> replicas;
+    private final long maxLagSeconds;
+    private final String lagQuery;
+    private final String lagColumn;
+    private volatile List<String> usable = List.of();
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, long maxLagSeconds, String lagQuery, String lagColumn) {
+        this.replicas = replicas;
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+    }
+
+    /**
+     * Returns the replica pools by routing key.
+     */
+    public Map<String, DataSource> replicas() {
+        return replicas;
+    }
+
+    /**
+     * Returns the keys of the replicas that may currently serve reads.
+     */
+    public List<String> usableReplicas() {
+        return usable;
+    }
+
+    /**
+     * Re-checks every replica and updates the usable set.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        List<String> nowUsable = new ArrayList<>();
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            Long lag = measureLag(replica.getKey(), replica.getValue());
+            if (lag != null && lag <= maxLagSeconds) {
+                nowUsable.add(replica.getKey());
+            } else if (usable.contains(replica.getKey())) {
+                log.warn("Replica {} taken out of rotation (lag: {}s, max {}s)",
+                        replica.getKey(), lag != null ? lag : "unknown", maxLagSeconds);
+            }
+        }
+        if (!nowUsable.equals(usable)) {
+            log.info("Usable read replicas: {}", nowUsable);
+        }
+        usable = List.copyOf(nowUsable);
+    }
+
+    /**
+     * Closes the replica pools on shutdown.
+     */
+    public void close() {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close replica pool: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Measures a replica's lag in seconds.
+     *
+     * @return the lag, or null if the replica is unreachable or not replicating
+     */
+    private Long measureLag(String name, DataSource replica) {
+        try (Connection connection = replica.getConnection()) {
+            if (!StringUtils.hasText(lagQuery)) {
+                return connection.isValid(VALIDATION_TIMEOUT_SECONDS) ? 0L : null;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet status = statement.executeQuery(lagQuery)) {
+                if (!status.next()) {
+                    return 0L;
+                }
+                Object lag = status.getObject(lagColumn);
+                return lag instanceof Number number ? number.longValue() : null;
+            }
+        } catch (SQLException e) {
+            log.warn("Failed to check replica {}: {}", name, e.getMessage());
+            return null;
+        }
+    }
+}
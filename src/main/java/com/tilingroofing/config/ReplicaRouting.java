@@ -0,0 +1,76 @@
+package com.tilingroofing.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread routing hints for the read-replica datasource.
+ *
+ * Read-only transactions normally go to a replica. While primary is required on the current
+ * thread (during a write request, or right after the caller's own write) they go to the
+ * primary instead, so the caller always reads what they just wrote.
+ *
+ * The hint has no effect when replicas are disabled.
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    /**
+     * Routes all reads on the current thread to the primary until {@link #clear()} is called.
+     */
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    /**
+     * Checks if reads on the current thread must go to the primary.
+     */
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    /**
+     * Clears the routing hint for the current thread.
+     */
+    public static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    /**
+     * Runs a read on the primary, for reads that must never see replication lag
+     * (e.g. reloading in-memory indexes right after a commit).
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        boolean alreadyRequired = isPrimaryRequired();
+        requirePrimary();
+        try {
+            return read.get();
+        } finally {
+            if (!alreadyRequired) {
+                clear();
+            }
+        }
+    }
+
+    /**
+     * Wraps a task handed to another thread so it keeps the submitting thread's routing hint.
+     * Used as the async executor's task decorator, so e.g. emails sent after a write read the
+     * new booking from the primary.
+     */
+    public static Runnable propagate(Runnable task) {
+        if (!isPrimaryRequired()) {
+            return task;
+        }
+        return () -> {
+            requirePrimary();
+            try {
+                task.run();
+            } finally {
+                clear();
+            }
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.tilingroofing.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routing datasource that sends read-only transactions to a replica.
+ *
+ * Writes, reads inside read-write transactions and reads that must see the caller's own
+ * writes ({@link ReplicaRouting}) go to the primary. Read-only transactions are spread
+ * round-robin over the replicas the lag monitor currently considers usable, and fall back
+ * to the primary when none is.
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy: the transaction is only marked
+ * read-only after it has begun, so the real connection has to be fetched on first use.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReplicaRouting.isPrimaryRequired()) {
+            return PRIMARY;
+        }
+        List<String> usable = lagMonitor.usableReplicas();
+        if (usable.isEmpty()) {
+            return PRIMARY;
+        }
+        return usable.get(Math.floorMod(next.getAndIncrement(), usable.size()));
+    }
+}
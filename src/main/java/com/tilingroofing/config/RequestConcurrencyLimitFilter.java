@@ -0,0 +1,86 @@
+package com.tilingroofing.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tilingroofing.api.dto.response.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the number of requests handled at once when requests run on virtual threads.
+ *
+ * With platform threads Tomcat's worker pool caps concurrency; with virtual threads every
+ * accepted connection gets its own thread, and a burst would pile up waiting on the Hikari pool
+ * until its connection timeout. At most requests-per-connection requests per pooled connection
+ * run at once; the rest wait up to acquire-timeout-ms and then get a 503, so overload is shed
+ * quickly instead of holding sockets open.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class RequestConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestConcurrencyLimitFilter.class);
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+    private final ObjectMapper objectMapper;
+
+    public RequestConcurrencyLimitFilter(
+            ObjectMapper objectMapper,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${app.virtual-threads.requests-per-connection:4}") int requestsPerConnection,
+            @Value("${app.virtual-threads.acquire-timeout-ms:2000}") long acquireTimeoutMs
+    ) {
+        if (maximumPoolSize < 1 || requestsPerConnection < 1) {
+            throw new IllegalArgumentException("Pool size and requests per connection must be positive");
+        }
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(maximumPoolSize * requestsPerConnection, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        log.info("Virtual threads enabled: at most {} concurrent request(s)", maximumPoolSize * requestsPerConnection);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.debug("Rejected {} {}: concurrency limit reached", request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    ApiResponse.error("SERVER_BUSY", "The server is busy, please retry shortly"));
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.tilingroofing.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskSchedulerBuilder;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Scheduling configuration for periodic background jobs.
+ * Used for refreshing in-memory indexes and housekeeping tasks.
+ *
+ * The outbox dispatcher runs on a scheduler of its own: draining a backlog over a slow SMTP
+ * server can take minutes, which must not hold up the short jobs on the shared scheduler.
+ * Declaring that scheduler turns off Spring Boot's default one, so the shared scheduler is
+ * declared here as well, built the way Spring Boot builds it from spring.task.scheduling.*.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * Scheduler for every @Scheduled job that doesn't name another one.
+     */
+    @Bean(name = "taskScheduler")
+    public TaskScheduler taskScheduler(
+            Environment environment,
+            ThreadPoolTaskSchedulerBuilder threadPoolBuilder,
+            SimpleAsyncTaskSchedulerBuilder virtualThreadBuilder
+    ) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return virtualThreadBuilder.build();
+        }
+        return threadPoolBuilder.build();
+    }
+
+    /**
+     * Single thread for the outbox dispatcher. It sends over pooled SMTP connections and holds
+     * JDBC connections only briefly, so it stays on a platform thread even with virtual threads.
+     */
+    @Bean(name = "outboxScheduler")
+    public ThreadPoolTaskScheduler outboxScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("outbox-");
+        return scheduler;
+    }
+}
@@ -0,0 +1,72 @@
+package com.tilingroofing.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.util.Optional;
+
+/**
+ * Refuses to start on virtual threads when the MySQL driver can pin every carrier thread.
+ *
+ * Connector/J before 9.0 guards its socket I/O with synchronized blocks, so a virtual thread
+ * running a query stays pinned to its carrier until the database answers. Every pooled
+ * connection can be in use at once; with no more carriers than connections, a few slow queries
+ * leave no carrier for anything else, including the threads that would return a connection.
+ * Startup therefore fails unless jdk.virtualThreadScheduler.parallelism (the carrier count,
+ * by default the number of CPUs) exceeds the connections of all pools. The Docker image sets
+ * it; app.virtual-threads.fail-on-pinning-driver=false only logs a warning instead.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadCarrierGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadCarrierGuard.class);
+    private static final int FIRST_UNPINNED_DRIVER_VERSION = 9;
+
+    public VirtualThreadCarrierGuard(
+            HikariDataSource primaryDataSource,
+            ObjectProvider<ReplicaLagMonitor> replicaLagMonitor,
+            @Value("${app.virtual-threads.fail-on-pinning-driver:true}") boolean failOnPinningDriver
+    ) {
+        Optional<Driver> driver = DriverManager.drivers()
+                .filter(candidate -> candidate.getClass().getName().startsWith("com.mysql."))
+                .findFirst();
+        if (driver.isEmpty() || driver.get().getMajorVersion() >= FIRST_UNPINNED_DRIVER_VERSION) {
+            return;
+        }
+
+        int connections = primaryDataSource.getMaximumPoolSize() + replicaLagMonitor.stream()
+                .flatMap(monitor -> monitor.replicas().values().stream())
+                .mapToInt(VirtualThreadCarrierGuard::maximumPoolSize)
+                .sum();
+        int carriers = Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                Runtime.getRuntime().availableProcessors());
+        if (carriers > connections) {
+            log.info("Virtual threads on MySQL Connector/J {}.{}: {} carrier(s) for {} pooled connection(s)",
+                    driver.get().getMajorVersion(), driver.get().getMinorVersion(), carriers, connections);
+            return;
+        }
+
+        String message = String.format("MySQL Connector/J %d.%d pins virtual threads during queries, and %d pooled "
+                        + "connection(s) can pin all %d carrier thread(s). Start the JVM with "
+                        + "-Djdk.virtualThreadScheduler.parallelism=%d or more, or disable virtual threads",
+                driver.get().getMajorVersion(), driver.get().getMinorVersion(), connections, carriers, connections + 1);
+        if (failOnPinningDriver) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    private static int maximumPoolSize(DataSource dataSource) {
+        return dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 0;
+    }
+}
@@ -5,6 +5,7 @@ import com.tilingroofing.domain.enums.JobSize;
 import com.tilingroofing.domain.enums.TimeSlot;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,13 +17,16 @@ import java.util.List;
 /**
  * Entity representing a service booking.
  * Contains customer information, service details, and scheduling preferences.
+ * List endpoints read bookings through BookingListView projections rather than this entity.
  */
 @Entity
 @Table(name = "bookings", indexes = {
     @Index(name = "idx_booking_ref", columnList = "booking_ref"),
     @Index(name = "idx_booking_status", columnList = "status"),
     @Index(name = "idx_booking_preferred_date", columnList = "preferred_date"),
-    @Index(name = "idx_booking_user_id", columnList = "user_id")
+    @Index(name = "idx_booking_user_id", columnList = "user_id"),
+    @Index(name = "idx_booking_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_booking_user_created_at_id", columnList = "user_id, created_at, id")
 })
 @Getter
 @Setter
@@ -31,8 +35,21 @@ import java.util.List;
 @Builder
 public class Booking {
 
+    /**
+     * Allocated in blocks from the id_sequences table (pooled-lo), so inserts can be JDBC-batched.
+     * The column has no AUTO_INCREMENT: any insert outside JPA must take its ID from the
+     * 'bookings' row of id_sequences too, or it may collide with a block already handed out.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "bookings_id")
+    @TableGenerator(
+            name = "bookings_id",
+            table = "id_sequences",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "bookings",
+            allocationSize = 50
+    )
     private Long id;
 
     @Column(name = "booking_ref", unique = true, nullable = false, length = 20)
@@ -73,7 +90,12 @@ public class Booking {
     @Column(name = "customer_phone", nullable = false, length = 20)
     private String customerPhone;
 
+    /**
+     * Files are batch-fetched: initializing one booking's files loads the files
+     * of up to 100 bookings in the persistence context with a single query.
+     */
     @OneToMany(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     @Builder.Default
     private List<BookingFile> files = new ArrayList<>();
 
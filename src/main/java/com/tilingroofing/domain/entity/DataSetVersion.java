@@ -0,0 +1,25 @@
+package com.tilingroofing.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entity holding the version number of a data set, for conditional GETs on collections.
+ * The version is bumped by every transaction that changes the data set.
+ */
+@Entity
+@Table(name = "data_versions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DataSetVersion {
+
+    @Id
+    @Column(name = "data_set", length = 50)
+    private String dataSet;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
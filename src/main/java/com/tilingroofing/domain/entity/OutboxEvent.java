@@ -0,0 +1,69 @@
+package com.tilingroofing.domain.entity;
+
+import com.tilingroofing.domain.enums.OutboxEventType;
+import com.tilingroofing.domain.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a side effect of a booking change, written in the same transaction
+ * as the change and delivered afterwards by the outbox dispatcher.
+ */
+@Entity
+@Table(name = "outbox", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_outbox_dedupe_key", columnNames = "dedupe_key")
+}, indexes = {
+    @Index(name = "idx_outbox_status_available_at", columnList = "status, available_at"),
+    @Index(name = "idx_outbox_status_processed_at", columnList = "status, processed_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = "payload")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 50, columnDefinition = "VARCHAR(50)")
+    private OutboxEventType eventType;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Column(name = "dedupe_key", nullable = false, length = 191)
+    private String dedupeKey;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20, columnDefinition = "VARCHAR(20)")
+    private OutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "lease_token", length = 36)
+    private String leaseToken;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,28 @@
+package com.tilingroofing.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entity representing a named sequence used for block allocation (hi/lo).
+ * Each allocation reserves a range of values so they can be handed out from memory.
+ */
+@Entity
+@Table(name = "ref_sequences")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefSequence {
+
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+
+    /**
+     * The first value that has not yet been handed out to any allocator.
+     */
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
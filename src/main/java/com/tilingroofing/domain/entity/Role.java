@@ -2,6 +2,8 @@ package com.tilingroofing.domain.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,8 +16,13 @@ import java.time.LocalDateTime;
  * Roles:
  * - USER: Standard user with basic access
  * - ADMIN: Administrator with full system access
+ *
+ * Roles effectively never change, so they are kept in the second-level cache ("roles" region)
+ * and the eager User.role association never has to query the roles table.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "roles")
 @Table(name = "roles", indexes = {
     @Index(name = "idx_role_name", columnList = "name", unique = true)
 })
@@ -0,0 +1,51 @@
+package com.tilingroofing.domain.entity;
+
+import com.tilingroofing.domain.enums.TimeSlot;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding the capacity counter for one time slot of one day.
+ * Rows are created on the first reservation for a slot and updated with
+ * compare-and-set statements, never read-modify-write.
+ * A null capacity means the configured default applies.
+ */
+@Entity
+@Table(name = "slot_capacity", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_slot_capacity_slot_date", columnNames = {"time_slot", "date"})
+}, indexes = {
+    @Index(name = "idx_slot_capacity_date", columnList = "date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class SlotCapacity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "date", nullable = false)
+    private LocalDate date;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "time_slot", nullable = false, length = 20, columnDefinition = "VARCHAR(20)")
+    private TimeSlot timeSlot;
+
+    @Column(name = "reserved", nullable = false)
+    private int reserved;
+
+    @Column(name = "capacity")
+    private Integer capacity;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
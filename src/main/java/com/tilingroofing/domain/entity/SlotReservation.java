@@ -0,0 +1,52 @@
+package com.tilingroofing.domain.entity;
+
+import com.tilingroofing.domain.enums.TimeSlot;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entity recording the capacity units a booking holds in a time slot.
+ * The ledger is what gets released when a booking is cancelled, moved or deleted,
+ * so the slot_capacity counters can always be reconciled against it.
+ */
+@Entity
+@Table(name = "slot_reservations", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_slot_reservations_booking_slot", columnNames = {"booking_id", "date", "time_slot"})
+}, indexes = {
+    @Index(name = "idx_slot_reservations_date", columnList = "date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class SlotReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id", nullable = false, foreignKey = @ForeignKey(name = "fk_slot_reservations_booking"))
+    @ToString.Exclude
+    private Booking booking;
+
+    @Column(name = "date", nullable = false)
+    private LocalDate date;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "time_slot", nullable = false, length = 20, columnDefinition = "VARCHAR(20)")
+    private TimeSlot timeSlot;
+
+    @Column(name = "units", nullable = false)
+    private int units;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -2,6 +2,8 @@ package com.tilingroofing.domain.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,8 +18,15 @@ import java.time.LocalDateTime;
  * - name: User's full name
  * - picture: URL to user's profile picture
  * - locale: User's locale preference
+ *
+ * Users are kept in the second-level cache ("users" region), so loading a user by id (on
+ * every authenticated request and booking) usually needs no query. Updates made through
+ * the entity refresh the cached copy; the region's expiry bounds how stale another
+ * instance's copy can get.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Table(name = "users", indexes = {
     @Index(name = "idx_user_email", columnList = "email")
 })
@@ -28,8 +37,21 @@ import java.time.LocalDateTime;
 @Builder
 public class User {
 
+    /**
+     * Allocated in blocks from the id_sequences table (pooled-lo), so inserts can be JDBC-batched.
+     * The column has no AUTO_INCREMENT: any insert outside JPA must take its ID from the
+     * 'users' row of id_sequences too, or it may collide with a block already handed out.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "users_id")
+    @TableGenerator(
+            name = "users_id",
+            table = "id_sequences",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "users",
+            allocationSize = 50
+    )
     private Long id;
 
     /**
@@ -0,0 +1,16 @@
+package com.tilingroofing.domain.enums;
+
+/**
+ * Enum representing the state of a request recorded under an idempotency key.
+ */
+public enum IdempotencyStatus {
+    /**
+     * The first request with the key is still being processed.
+     */
+    IN_PROGRESS,
+
+    /**
+     * The request has finished and its response is stored for replay.
+     */
+    COMPLETED
+}
@@ -0,0 +1,26 @@
+package com.tilingroofing.domain.enums;
+
+/**
+ * Enum representing the side effects delivered through the outbox.
+ */
+public enum OutboxEventType {
+    /**
+     * Creates the admin notification for a new booking.
+     */
+    BOOKING_NOTIFICATION,
+
+    /**
+     * Sends the booking confirmation email to the customer.
+     */
+    CUSTOMER_CONFIRMATION,
+
+    /**
+     * Sends the new booking email to the admin.
+     */
+    ADMIN_NOTIFICATION,
+
+    /**
+     * Sends the status update email to the customer.
+     */
+    STATUS_UPDATE_EMAIL
+}
@@ -0,0 +1,21 @@
+package com.tilingroofing.domain.enums;
+
+/**
+ * Enum representing the delivery state of an outbox event.
+ */
+public enum OutboxStatus {
+    /**
+     * The event is waiting for its first or next delivery attempt.
+     */
+    PENDING,
+
+    /**
+     * The event has been delivered.
+     */
+    SENT,
+
+    /**
+     * Every delivery attempt failed; the event is kept for inspection.
+     */
+    FAILED
+}
@@ -0,0 +1,51 @@
+package com.tilingroofing.domain.projection;
+
+import com.tilingroofing.domain.enums.BookingStatus;
+import com.tilingroofing.domain.enums.JobSize;
+import com.tilingroofing.domain.enums.TimeSlot;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a blocked date for the calendar.
+ * Booking and user columns are null for dates blocked by an admin.
+ */
+public record BlockedDateView(
+        Long id,
+        LocalDate date,
+        String reason,
+        LocalDateTime createdAt,
+        Long bookingId,
+        String bookingRef,
+        BookingStatus bookingStatus,
+        String serviceId,
+        JobSize jobSize,
+        String suburb,
+        String postcode,
+        LocalDate preferredDate,
+        TimeSlot timeSlot,
+        Long userId,
+        String userEmail,
+        String userName,
+        String userPicture,
+        String userLocale,
+        String userRole
+) {
+
+    /**
+     * JPQL constructor expression selecting this view from BlockedDate bd,
+     * outer-joined to its booking, user and role.
+     */
+    public static final String SELECT = """
+        SELECT new com.tilingroofing.domain.projection.BlockedDateView(
+            bd.id, bd.date, bd.reason, bd.createdAt,
+            booking.id, booking.bookingRef, booking.status, booking.serviceId, booking.jobSize,
+            booking.suburb, booking.postcode, booking.preferredDate, booking.timeSlot,
+            user.id, user.email, user.name, user.picture, user.locale, role.name)
+        FROM BlockedDate bd
+        LEFT JOIN bd.booking booking
+        LEFT JOIN booking.user user
+        LEFT JOIN user.role role
+    """;
+}
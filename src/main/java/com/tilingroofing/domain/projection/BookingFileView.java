@@ -0,0 +1,18 @@
+package com.tilingroofing.domain.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a booking file for list endpoints.
+ */
+public record BookingFileView(
+        Long id,
+        Long bookingId,
+        String filename,
+        String originalFilename,
+        String filePath,
+        Long fileSize,
+        String mimeType,
+        LocalDateTime uploadedAt
+) {
+}
@@ -0,0 +1,48 @@
+package com.tilingroofing.domain.projection;
+
+import com.tilingroofing.domain.enums.BookingStatus;
+import com.tilingroofing.domain.enums.JobSize;
+import com.tilingroofing.domain.enums.TimeSlot;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a booking and its customer for list endpoints.
+ * Built by JPQL constructor expressions, so no entities are hydrated or tracked.
+ */
+public record BookingListView(
+        Long id,
+        String bookingRef,
+        BookingStatus status,
+        String serviceId,
+        JobSize jobSize,
+        String suburb,
+        String postcode,
+        String description,
+        LocalDate preferredDate,
+        TimeSlot timeSlot,
+        String customerPhone,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long userId,
+        String userEmail,
+        String userName,
+        String userPicture,
+        String userLocale,
+        String userRole
+) {
+
+    /**
+     * JPQL constructor expression selecting this view from Booking b joined to User u and Role r.
+     */
+    public static final String SELECT = """
+        SELECT new com.tilingroofing.domain.projection.BookingListView(
+            b.id, b.bookingRef, b.status, b.serviceId, b.jobSize, b.suburb, b.postcode,
+            b.description, b.preferredDate, b.timeSlot, b.customerPhone, b.createdAt, b.updatedAt,
+            u.id, u.email, u.name, u.picture, u.locale, r.name)
+        FROM Booking b
+        JOIN b.user u
+        JOIN u.role r
+    """;
+}
@@ -0,0 +1,78 @@
+package com.tilingroofing.domain.projection;
+
+import com.tilingroofing.domain.entity.Booking;
+import com.tilingroofing.domain.enums.BookingStatus;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable copy of the booking details shown in emails, taken when an email is published.
+ * Stored with the outbox event, so an email can be rendered and sent without reading the
+ * booking again. Enum values are kept in their API form, as the templates display them.
+ */
+public record BookingSnapshot(
+        Long id,
+        String bookingRef,
+        String status,
+        String serviceId,
+        String jobSize,
+        LocalDate preferredDate,
+        String timeSlot,
+        String suburb,
+        String postcode,
+        String description,
+        String customerName,
+        String customerEmail,
+        String customerPhone
+) {
+
+    /**
+     * Takes a snapshot of a booking. The booking's user must be loaded.
+     */
+    public static BookingSnapshot of(Booking booking) {
+        return of(booking, booking.getStatus());
+    }
+
+    /**
+     * Takes a snapshot of a booking with the given status, for bookings whose status was
+     * changed by a bulk update that the loaded entity may not reflect.
+     */
+    public static BookingSnapshot of(Booking booking, BookingStatus status) {
+        return new BookingSnapshot(
+                booking.getId(),
+                booking.getBookingRef(),
+                status.getValue(),
+                booking.getServiceId(),
+                booking.getJobSize().getValue(),
+                booking.getPreferredDate(),
+                booking.getTimeSlot().getValue(),
+                booking.getSuburb(),
+                booking.getPostcode(),
+                booking.getDescription(),
+                booking.getUser().getDisplayName(),
+                booking.getUser().getEmail(),
+                booking.getCustomerPhone());
+    }
+
+    /**
+     * The template variables for this booking.
+     */
+    public Map<String, Object> toTemplateVariables() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("bookingRef", bookingRef);
+        variables.put("status", status);
+        variables.put("serviceId", serviceId);
+        variables.put("jobSize", jobSize);
+        variables.put("preferredDate", preferredDate);
+        variables.put("timeSlot", timeSlot);
+        variables.put("suburb", suburb);
+        variables.put("postcode", postcode);
+        variables.put("description", description);
+        variables.put("customerName", customerName);
+        variables.put("customerEmail", customerEmail);
+        variables.put("customerPhone", customerPhone);
+        return variables;
+    }
+}
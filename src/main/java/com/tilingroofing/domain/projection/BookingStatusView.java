@@ -0,0 +1,13 @@
+package com.tilingroofing.domain.projection;
+
+import com.tilingroofing.domain.enums.BookingStatus;
+
+/**
+ * Read-only projection of a booking's current status.
+ */
+public record BookingStatusView(
+        Long id,
+        String bookingRef,
+        BookingStatus status
+) {
+}
@@ -1,8 +1,13 @@
 package com.tilingroofing.domain.repository;
 
 import com.tilingroofing.domain.entity.BlockedDate;
+import com.tilingroofing.domain.projection.BlockedDateView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -22,38 +27,90 @@ public interface BlockedDateRepository extends JpaRepository<BlockedDate, Long>
      */
     boolean existsByDate(LocalDate date);
 
+    /**
+     * Finds all blocked dates from the given date onwards.
+     * Used to build the in-memory availability index.
+     */
+    @Query("SELECT bd.date FROM BlockedDate bd WHERE bd.date >= :from")
+    List<LocalDate> findDatesFrom(@Param("from") LocalDate from);
+
+    /**
+     * Finds the blocked dates within a date range (inclusive), without loading entities.
+     */
+    @Query("SELECT bd.date FROM BlockedDate bd WHERE bd.date BETWEEN :from AND :to")
+    List<LocalDate> findDatesBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
     /**
      * Finds a blocked date by date.
      */
     Optional<BlockedDate> findByDate(LocalDate date);
 
     /**
-     * Finds all blocked dates within a date range.
-     * Fetches booking and user information eagerly.
+     * Finds all blocked dates within a date range as read-only views,
+     * including booking and user information.
      */
-    @Query("""
-        SELECT DISTINCT bd FROM BlockedDate bd
-        LEFT JOIN FETCH bd.booking booking
-        LEFT JOIN FETCH booking.user user
-        LEFT JOIN FETCH user.role
+    @Query(BlockedDateView.SELECT + """
         WHERE bd.date BETWEEN :startDate AND :endDate
         ORDER BY bd.date
     """)
-    List<BlockedDate> findByDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    List<BlockedDateView> findByDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
     /**
-     * Finds all blocked dates from today onwards.
-     * Fetches booking and user information eagerly.
+     * Finds all blocked dates from today onwards as read-only views,
+     * including booking and user information.
      */
-    @Query("""
-        SELECT DISTINCT bd FROM BlockedDate bd
-        LEFT JOIN FETCH bd.booking booking
-        LEFT JOIN FETCH booking.user user
-        LEFT JOIN FETCH user.role
+    @Query(BlockedDateView.SELECT + """
         WHERE bd.date >= :today
         ORDER BY bd.date
     """)
-    List<BlockedDate> findUpcomingBlockedDates(@Param("today") LocalDate today);
+    List<BlockedDateView> findUpcomingBlockedDates(@Param("today") LocalDate today);
+
+    /**
+     * Claims a date, relying on the UNIQUE constraint on blocked_dates.date: of several
+     * concurrent claims for the same day exactly one inserts a row.
+     *
+     * @return true if this call inserted the row, false if the date was already blocked
+     */
+    default boolean claim(LocalDate date, String reason, Long bookingId) {
+        insertIfAbsent(date, reason, bookingId);
+        return lastInsertId() != 0;
+    }
+
+    /**
+     * Inserts a blocked date unless the date already has one. Unlike INSERT IGNORE, errors
+     * such as invalid values still fail the statement instead of becoming warnings.
+     *
+     * The affected-row count can't tell the two cases apart (Connector/J reports found rows,
+     * so a duplicate counts 1 as well). Instead the duplicate branch resets LAST_INSERT_ID()
+     * to 0, leaving it at the new row's ID only when a row was inserted; see {@link #claim}.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "blocked_dates"))
+    @Query(value = """
+        INSERT INTO blocked_dates (date, reason, booking_id)
+        VALUES (:date, :reason, :bookingId)
+        ON DUPLICATE KEY UPDATE id = id + LAST_INSERT_ID(0)
+    """, nativeQuery = true)
+    void insertIfAbsent(
+            @Param("date") LocalDate date,
+            @Param("reason") String reason,
+            @Param("bookingId") Long bookingId
+    );
+
+    /**
+     * The ID generated by the last insert on this connection (and so this transaction).
+     */
+    @Query(value = "SELECT LAST_INSERT_ID()", nativeQuery = true)
+    long lastInsertId();
+
+    /**
+     * Deletes the blocked date for a date only if it is linked to the given booking.
+     *
+     * @return number of rows deleted (0 or 1)
+     */
+    @Modifying
+    @Query("DELETE FROM BlockedDate bd WHERE bd.date = :date AND bd.booking.id = :bookingId")
+    int deleteByDateAndBookingId(@Param("date") LocalDate date, @Param("bookingId") Long bookingId);
 
     /**
      * Deletes a blocked date by date.
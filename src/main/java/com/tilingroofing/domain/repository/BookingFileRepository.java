@@ -1,9 +1,13 @@
 package com.tilingroofing.domain.repository;
 
 import com.tilingroofing.domain.entity.BookingFile;
+import com.tilingroofing.domain.projection.BookingFileView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -18,6 +22,18 @@ public interface BookingFileRepository extends JpaRepository<BookingFile, Long>
      */
     List<BookingFile> findByBookingId(Long bookingId);
 
+    /**
+     * Finds read-only views of the files of several bookings in one query.
+     */
+    @Query("""
+        SELECT new com.tilingroofing.domain.projection.BookingFileView(
+            f.id, f.booking.id, f.filename, f.originalFilename, f.filePath, f.fileSize, f.mimeType, f.uploadedAt)
+        FROM BookingFile f
+        WHERE f.booking.id IN :bookingIds
+        ORDER BY f.id
+    """)
+    List<BookingFileView> findViewsByBookingIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+
     /**
      * Deletes all files associated with a booking.
      */
@@ -2,15 +2,26 @@ package com.tilingroofing.domain.repository;
 
 import com.tilingroofing.domain.entity.Booking;
 import com.tilingroofing.domain.enums.BookingStatus;
+import com.tilingroofing.domain.projection.BookingListView;
+import com.tilingroofing.domain.projection.BookingStatusView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for Booking entities.
@@ -19,6 +30,18 @@ import java.util.Optional;
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    /**
+     * SQL expression for the denormalised bookings.search_text column (aliases b = bookings, u = users).
+     * Covers booking ref, suburb, postcode, phone (international and local form), customer name and email.
+     * Must match the backfill in migration V11.
+     */
+    String SEARCH_TEXT_EXPRESSION = """
+        CONCAT_WS(' ',
+            b.booking_ref, b.suburb, b.postcode, b.customer_phone,
+            IF(b.customer_phone LIKE '+61%', CONCAT('0', SUBSTRING(b.customer_phone, 4)), NULL),
+            u.name, u.email)
+    """;
+
     /**
      * Finds a booking by its reference number.
      */
@@ -29,6 +52,28 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      */
     boolean existsByBookingRef(String bookingRef);
 
+    /**
+     * Finds the reference of a booking without loading the entity.
+     */
+    @Query("SELECT b.bookingRef FROM Booking b WHERE b.id = :id")
+    Optional<String> findBookingRefById(@Param("id") Long id);
+
+    /**
+     * Finds the IDs of all bookings made by a user.
+     */
+    @Query("SELECT b.id FROM Booking b WHERE b.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Bumps the modification time of bookings whose files changed without the booking itself changing.
+     *
+     * @return number of bookings updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Booking b SET b.updatedAt = :now WHERE b.id IN :ids")
+    int touch(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
     /**
      * Finds all bookings with optional status filter.
      */
@@ -62,38 +107,271 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     long countByStatus(BookingStatus status);
 
     /**
-     * Search bookings by various criteria.
+     * Search bookings by various criteria, returning read-only list views.
      */
-    @Query("""
-        SELECT b FROM Booking b
+    @Query(value = BookingListView.SELECT + """
+        WHERE (:status IS NULL OR b.status = :status)
+        AND (:search IS NULL OR 
+             LOWER(b.bookingRef) LIKE LOWER(CONCAT('%', :search, '%')) OR
+             LOWER(u.name) LIKE LOWER(CONCAT('%', :search, '%')) OR
+             LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')))
+        ORDER BY b.createdAt DESC
+    """, countQuery = """
+        SELECT COUNT(b) FROM Booking b
         WHERE (:status IS NULL OR b.status = :status)
         AND (:search IS NULL OR 
              LOWER(b.bookingRef) LIKE LOWER(CONCAT('%', :search, '%')) OR
              LOWER(b.user.name) LIKE LOWER(CONCAT('%', :search, '%')) OR
              LOWER(b.user.email) LIKE LOWER(CONCAT('%', :search, '%')))
-        ORDER BY b.createdAt DESC
     """)
-    Page<Booking> searchBookings(
+    Page<BookingListView> searchBookings(
             @Param("status") BookingStatus status,
             @Param("search") String search,
             Pageable pageable
     );
 
     /**
-     * Finds all bookings for a specific user, optionally filtered by status.
+     * Search bookings using keyset (seek) pagination on (createdAt, id).
+     * Returns the rows after the given cursor; a null cursor starts from the newest booking.
+     * No count query is issued - use {@link #countBookings} when a total is needed.
+     */
+    @Query(BookingListView.SELECT + """
+        WHERE (:status IS NULL OR b.status = :status)
+        AND (:search IS NULL OR 
+             LOWER(b.bookingRef) LIKE LOWER(CONCAT('%', :search, '%')) OR
+             LOWER(u.name) LIKE LOWER(CONCAT('%', :search, '%')) OR
+             LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%')))
+        AND (:cursorCreatedAt IS NULL OR
+             b.createdAt < :cursorCreatedAt OR
+             (b.createdAt = :cursorCreatedAt AND b.id < :cursorId))
+        ORDER BY b.createdAt DESC, b.id DESC
+    """)
+    List<BookingListView> searchBookingsAfter(
+            @Param("status") BookingStatus status,
+            @Param("search") String search,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    /**
+     * Counts bookings matching the search criteria.
      */
     @Query("""
-        SELECT b FROM Booking b
-        WHERE b.user.id = :userId
+        SELECT COUNT(b) FROM Booking b
+        WHERE (:status IS NULL OR b.status = :status)
+        AND (:search IS NULL OR 
+             LOWER(b.bookingRef) LIKE LOWER(CONCAT('%', :search, '%')) OR
+             LOWER(b.user.name) LIKE LOWER(CONCAT('%', :search, '%')) OR
+             LOWER(b.user.email) LIKE LOWER(CONCAT('%', :search, '%')))
+    """)
+    long countBookings(@Param("status") BookingStatus status, @Param("search") String search);
+
+    /**
+     * Full-text search returning booking IDs ordered by relevance, then newest first.
+     * Served by the ngram FULLTEXT index on search_text.
+     *
+     * @param status Optional status name (e.g. "PENDING")
+     * @param query Boolean-mode query built by FullTextQuery
+     */
+    @Query(value = """
+        SELECT b.id FROM bookings b
+        WHERE (:status IS NULL OR b.status = :status)
+        AND MATCH(b.search_text) AGAINST (:query IN BOOLEAN MODE)
+        ORDER BY MATCH(b.search_text) AGAINST (:query IN BOOLEAN MODE) DESC, b.created_at DESC, b.id DESC
+    """, countQuery = """
+        SELECT COUNT(*) FROM bookings b
+        WHERE (:status IS NULL OR b.status = :status)
+        AND MATCH(b.search_text) AGAINST (:query IN BOOLEAN MODE)
+    """, nativeQuery = true)
+    Page<Long> searchBookingIdsByRelevance(
+            @Param("status") String status,
+            @Param("query") String query,
+            Pageable pageable
+    );
+
+    /**
+     * Full-text search returning booking IDs using keyset pagination on (created_at, id).
+     *
+     * @param status Optional status name (e.g. "PENDING")
+     * @param query Boolean-mode query built by FullTextQuery
+     */
+    @Query(value = """
+        SELECT b.id FROM bookings b
+        WHERE (:status IS NULL OR b.status = :status)
+        AND MATCH(b.search_text) AGAINST (:query IN BOOLEAN MODE)
+        AND (:cursorCreatedAt IS NULL OR
+             b.created_at < :cursorCreatedAt OR
+             (b.created_at = :cursorCreatedAt AND b.id < :cursorId))
+        ORDER BY b.created_at DESC, b.id DESC
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<Long> searchBookingIdsAfter(
+            @Param("status") String status,
+            @Param("query") String query,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Counts bookings matching a full-text query.
+     */
+    @Query(value = """
+        SELECT COUNT(*) FROM bookings b
+        WHERE (:status IS NULL OR b.status = :status)
+        AND MATCH(b.search_text) AGAINST (:query IN BOOLEAN MODE)
+    """, nativeQuery = true)
+    long countBookingsMatching(@Param("status") String status, @Param("query") String query);
+
+    /**
+     * Recomputes the search text of a single booking.
+     * Call after creating a booking or changing its searchable fields.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bookings"))
+    @Query(value = "UPDATE bookings b INNER JOIN users u ON u.id = b.user_id SET b.search_text = "
+            + SEARCH_TEXT_EXPRESSION + " WHERE b.id = :bookingId", nativeQuery = true)
+    int refreshSearchText(@Param("bookingId") Long bookingId);
+
+    /**
+     * Recomputes the search text of all bookings for a user.
+     * Call after the user's name or email changes.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bookings"))
+    @Query(value = "UPDATE bookings b INNER JOIN users u ON u.id = b.user_id SET b.search_text = "
+            + SEARCH_TEXT_EXPRESSION + " WHERE b.user_id = :userId", nativeQuery = true)
+    int refreshSearchTextForUser(@Param("userId") Long userId);
+
+    /**
+     * Recomputes the search text of several bookings.
+     * Used after batch inserts.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bookings"))
+    @Query(value = "UPDATE bookings b INNER JOIN users u ON u.id = b.user_id SET b.search_text = "
+            + SEARCH_TEXT_EXPRESSION + " WHERE b.id IN (:bookingIds)", nativeQuery = true)
+    int refreshSearchTextForBookings(@Param("bookingIds") Collection<Long> bookingIds);
+
+    /**
+     * Finds all bookings for a specific user, optionally filtered by status, as read-only list views.
+     */
+    @Query(value = BookingListView.SELECT + """
+        WHERE u.id = :userId
         AND (:status IS NULL OR b.status = :status)
         ORDER BY b.createdAt DESC
+    """, countQuery = """
+        SELECT COUNT(b) FROM Booking b
+        WHERE b.user.id = :userId
+        AND (:status IS NULL OR b.status = :status)
     """)
-    Page<Booking> findByUserId(
+    Page<BookingListView> findByUserId(
             @Param("userId") Long userId,
             @Param("status") BookingStatus status,
             Pageable pageable
     );
 
+    /**
+     * Finds bookings for a specific user using keyset (seek) pagination on (createdAt, id).
+     * Returns the rows after the given cursor; a null cursor starts from the newest booking.
+     */
+    @Query(BookingListView.SELECT + """
+        WHERE u.id = :userId
+        AND (:status IS NULL OR b.status = :status)
+        AND (:cursorCreatedAt IS NULL OR
+             b.createdAt < :cursorCreatedAt OR
+             (b.createdAt = :cursorCreatedAt AND b.id < :cursorId))
+        ORDER BY b.createdAt DESC, b.id DESC
+    """)
+    List<BookingListView> findByUserIdAfter(
+            @Param("userId") Long userId,
+            @Param("status") BookingStatus status,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable
+    );
+
+    /**
+     * Counts bookings for a specific user, optionally filtered by status.
+     */
+    @Query("""
+        SELECT COUNT(b) FROM Booking b
+        WHERE b.user.id = :userId
+        AND (:status IS NULL OR b.status = :status)
+    """)
+    long countByUserId(@Param("userId") Long userId, @Param("status") BookingStatus status);
+
+    /**
+     * Finds read-only list views of bookings by ID.
+     * Result order is unspecified.
+     */
+    @Query(BookingListView.SELECT + "WHERE b.id IN :ids")
+    List<BookingListView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams bookings for export as read-only list views, oldest first.
+     * Must be consumed inside a read-only transaction and closed afterwards.
+     * A fetch size of Integer.MIN_VALUE makes the MySQL driver stream rows one at a time
+     * instead of buffering the whole result set in memory.
+     *
+     * @param status Optional status filter
+     * @param from Optional first preferred date (inclusive)
+     * @param to Optional last preferred date (inclusive)
+     */
+    @Query(BookingListView.SELECT + """
+        WHERE (:status IS NULL OR b.status = :status)
+        AND (:from IS NULL OR b.preferredDate >= :from)
+        AND (:to IS NULL OR b.preferredDate <= :to)
+        ORDER BY b.id
+    """)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<BookingListView> streamForExport(
+            @Param("status") BookingStatus status,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Finds the current status of several bookings.
+     */
+    @Query("""
+        SELECT new com.tilingroofing.domain.projection.BookingStatusView(b.id, b.bookingRef, b.status)
+        FROM Booking b
+        WHERE b.id IN :ids
+    """)
+    List<BookingStatusView> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Moves bookings from one status to another in a single statement.
+     * Only rows still in the expected status are updated (compare-and-set), so a
+     * concurrent change between reading and writing is never overwritten.
+     * Bulk updates bypass @UpdateTimestamp, so updatedAt is set explicitly.
+     *
+     * @return number of bookings updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE Booking b SET b.status = :to, b.updatedAt = :now
+        WHERE b.id IN :ids AND b.status = :from
+    """)
+    int updateStatusWhereStatus(
+            @Param("ids") Collection<Long> ids,
+            @Param("from") BookingStatus from,
+            @Param("to") BookingStatus to,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Finds bookings by ID with their user relationship eagerly loaded.
+     * Used for batched operations outside the original transaction.
+     */
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user WHERE b.id IN :ids")
+    List<Booking> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Finds a booking by ID with its user relationship eagerly loaded.
      * Used for operations that need to access user data outside the original transaction.
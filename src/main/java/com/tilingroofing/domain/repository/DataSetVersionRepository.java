@@ -0,0 +1,36 @@
+package com.tilingroofing.domain.repository;
+
+import com.tilingroofing.domain.entity.DataSetVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Repository for DataSetVersion entities.
+ */
+@Repository
+public interface DataSetVersionRepository extends JpaRepository<DataSetVersion, String> {
+
+    /**
+     * Returns the current version of a data set - a primary key lookup.
+     */
+    @Query("SELECT v.version FROM DataSetVersion v WHERE v.dataSet = :dataSet")
+    Optional<Long> findVersion(@Param("dataSet") String dataSet);
+
+    /**
+     * Bumps the versions of data sets. Joins the caller's transaction, so the bump commits
+     * or rolls back with the change; the rows stay locked until then.
+     *
+     * @return number of data sets updated
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE DataSetVersion v SET v.version = v.version + 1 WHERE v.dataSet IN :dataSets")
+    int increment(@Param("dataSets") Collection<String> dataSets);
+}
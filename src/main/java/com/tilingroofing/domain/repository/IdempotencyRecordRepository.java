@@ -0,0 +1,129 @@
+package com.tilingroofing.domain.repository;
+
+import com.tilingroofing.domain.entity.IdempotencyRecord;
+import com.tilingroofing.domain.enums.IdempotencyStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Repository for IdempotencyRecord entities.
+ * Each write runs in its own short transaction, outside the request it guards.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    /**
+     * Finds the record for a key hash.
+     */
+    Optional<IdempotencyRecord> findByKeyHash(String keyHash);
+
+    /**
+     * Claims a key in a single statement.
+     * Relies on the UNIQUE constraint on key_hash, so of several concurrent requests
+     * with the same key exactly one inserts a row.
+     *
+     * @return 1 if the key was claimed, 0 if it already exists
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(value = """
+        INSERT IGNORE INTO idempotency_keys (key_hash, request_fingerprint, status, expires_at)
+        VALUES (:keyHash, :fingerprint, 'IN_PROGRESS', :expiresAt)
+    """, nativeQuery = true)
+    int claim(
+            @Param("keyHash") String keyHash,
+            @Param("fingerprint") String fingerprint,
+            @Param("expiresAt") LocalDateTime expiresAt
+    );
+
+    /**
+     * Stores the response for a claimed key.
+     *
+     * @return number of rows updated (0 or 1)
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE IdempotencyRecord r
+        SET r.status = :status, r.responseStatus = :responseStatus, r.contentType = :contentType,
+            r.responseBody = :responseBody, r.expiresAt = :expiresAt
+        WHERE r.keyHash = :keyHash
+    """)
+    int complete(
+            @Param("keyHash") String keyHash,
+            @Param("status") IdempotencyStatus status,
+            @Param("responseStatus") int responseStatus,
+            @Param("contentType") String contentType,
+            @Param("responseBody") byte[] responseBody,
+            @Param("expiresAt") LocalDateTime expiresAt
+    );
+
+    /**
+     * Records that the requests holding these claims are still running.
+     *
+     * @return number of claims refreshed
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE IdempotencyRecord r
+        SET r.heartbeatAt = :now
+        WHERE r.keyHash IN :keyHashes AND r.status = com.tilingroofing.domain.enums.IdempotencyStatus.IN_PROGRESS
+    """)
+    int heartbeat(@Param("keyHashes") Collection<String> keyHashes, @Param("now") LocalDateTime now);
+
+    /**
+     * Deletes a claim that is still in progress, so the request can be retried.
+     *
+     * @return number of rows deleted (0 or 1)
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        DELETE FROM IdempotencyRecord r
+        WHERE r.keyHash = :keyHash AND r.status = com.tilingroofing.domain.enums.IdempotencyStatus.IN_PROGRESS
+    """)
+    int deleteInProgress(@Param("keyHash") String keyHash);
+
+    /**
+     * Deletes the record for a key if it can be reused: it has expired, or it is in progress
+     * but hasn't been refreshed since before the given time (abandoned by a crashed request).
+     *
+     * @return number of rows deleted (0 or 1)
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        DELETE FROM IdempotencyRecord r
+        WHERE r.keyHash = :keyHash
+          AND (r.expiresAt < :now
+               OR (r.status = com.tilingroofing.domain.enums.IdempotencyStatus.IN_PROGRESS AND r.heartbeatAt < :staleBefore))
+    """)
+    int deleteReclaimable(
+            @Param("keyHash") String keyHash,
+            @Param("now") LocalDateTime now,
+            @Param("staleBefore") LocalDateTime staleBefore
+    );
+
+    /**
+     * Deletes all records that have expired.
+     *
+     * @return number of rows deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,174 @@
+package com.tilingroofing.domain.repository;
+
+import com.tilingroofing.domain.entity.OutboxEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for OutboxEvent entities.
+ * Events are published inside the caller's transaction; each delivery step afterwards
+ * runs in its own short transaction.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Writes an event unless one with the same dedupe key already exists.
+     * Joins the caller's transaction, so the event commits or rolls back with the change.
+     *
+     * @return 1 either way - the driver reports found rather than changed rows, so this
+     *         doesn't tell a duplicate apart
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "outbox"))
+    @Query(value = """
+        INSERT INTO outbox (event_type, booking_id, dedupe_key, payload, status, attempts, available_at)
+        VALUES (:eventType, :bookingId, :dedupeKey, :payload, 'PENDING', 0, :availableAt)
+        ON DUPLICATE KEY UPDATE id = id
+    """, nativeQuery = true)
+    int insertIfAbsent(
+            @Param("eventType") String eventType,
+            @Param("bookingId") Long bookingId,
+            @Param("dedupeKey") String dedupeKey,
+            @Param("payload") String payload,
+            @Param("availableAt") LocalDateTime availableAt
+    );
+
+    /**
+     * Locks and returns the oldest due events. Rows locked by another dispatcher are skipped
+     * rather than waited for, so concurrent dispatchers claim disjoint batches.
+     * Must run inside a transaction, which holds the locks until the claim is recorded.
+     */
+    @Query(value = """
+        SELECT * FROM outbox
+        WHERE status = 'PENDING' AND available_at <= :now
+        ORDER BY available_at, id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<OutboxEvent> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Records a delivery attempt on claimed events and leases them to the claim's token,
+     * hiding them from other dispatchers until the lease runs out. If the holder dies, the
+     * events become due again then and the next claim replaces the token.
+     *
+     * @return number of events updated
+     */
+    @Modifying
+    @Query("""
+        UPDATE OutboxEvent e
+        SET e.attempts = e.attempts + 1, e.availableAt = :leaseUntil, e.leaseToken = :token
+        WHERE e.id IN :ids
+    """)
+    int lease(
+            @Param("ids") Collection<Long> ids,
+            @Param("token") String token,
+            @Param("leaseUntil") LocalDateTime leaseUntil
+    );
+
+    /**
+     * Extends the lease on events the given claim still holds.
+     *
+     * @return number of events whose lease was extended
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE OutboxEvent e
+        SET e.availableAt = :leaseUntil
+        WHERE e.id IN :ids AND e.leaseToken = :token
+        AND e.status = com.tilingroofing.domain.enums.OutboxStatus.PENDING
+    """)
+    int renewLease(
+            @Param("ids") Collection<Long> ids,
+            @Param("token") String token,
+            @Param("leaseUntil") LocalDateTime leaseUntil
+    );
+
+    /**
+     * Returns which of the given events the claim still holds.
+     */
+    @Query("""
+        SELECT e.id FROM OutboxEvent e
+        WHERE e.id IN :ids AND e.leaseToken = :token
+        AND e.status = com.tilingroofing.domain.enums.OutboxStatus.PENDING
+    """)
+    List<Long> findHeld(@Param("ids") Collection<Long> ids, @Param("token") String token);
+
+    /**
+     * Marks an event as delivered, if the claim still holds it.
+     *
+     * @return number of events updated (0 if the lease was lost)
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE OutboxEvent e
+        SET e.status = com.tilingroofing.domain.enums.OutboxStatus.SENT, e.processedAt = :now, e.lastError = NULL
+        WHERE e.id = :id AND e.leaseToken = :token
+    """)
+    int markSent(@Param("id") Long id, @Param("token") String token, @Param("now") LocalDateTime now);
+
+    /**
+     * Schedules another delivery attempt for a failed event, if the claim still holds it.
+     *
+     * @return number of events updated (0 if the lease was lost)
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE OutboxEvent e
+        SET e.availableAt = :availableAt, e.lastError = :error
+        WHERE e.id = :id AND e.leaseToken = :token
+    """)
+    int reschedule(
+            @Param("id") Long id,
+            @Param("token") String token,
+            @Param("availableAt") LocalDateTime availableAt,
+            @Param("error") String error
+    );
+
+    /**
+     * Gives up on an event after its last delivery attempt failed, if the claim still holds it.
+     *
+     * @return number of events updated (0 if the lease was lost)
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE OutboxEvent e
+        SET e.status = com.tilingroofing.domain.enums.OutboxStatus.FAILED, e.processedAt = :now, e.lastError = :error
+        WHERE e.id = :id AND e.leaseToken = :token
+    """)
+    int markFailed(
+            @Param("id") Long id,
+            @Param("token") String token,
+            @Param("now") LocalDateTime now,
+            @Param("error") String error
+    );
+
+    /**
+     * Deletes delivered events processed before the given time.
+     *
+     * @return number of events deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        DELETE FROM OutboxEvent e
+        WHERE e.status = com.tilingroofing.domain.enums.OutboxStatus.SENT AND e.processedAt < :before
+    """)
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
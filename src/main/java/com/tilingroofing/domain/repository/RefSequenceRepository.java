@@ -0,0 +1,26 @@
+package com.tilingroofing.domain.repository;
+
+import com.tilingroofing.domain.entity.RefSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for RefSequence entities.
+ * Provides locked access to named sequences for block allocation.
+ */
+@Repository
+public interface RefSequenceRepository extends JpaRepository<RefSequence, String> {
+
+    /**
+     * Finds a sequence by name and locks its row until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM RefSequence s WHERE s.name = :name")
+    Optional<RefSequence> findByNameForUpdate(@Param("name") String name);
+}
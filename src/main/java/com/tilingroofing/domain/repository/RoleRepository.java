@@ -1,7 +1,10 @@
 package com.tilingroofing.domain.repository;
 
 import com.tilingroofing.domain.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -15,10 +18,15 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
 
     /**
      * Finds a role by its name.
+     * Results are kept in the "roles-by-name" query cache.
      * 
      * @param name Role name (e.g., "USER", "ADMIN")
      * @return Optional containing the role if found
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "roles-by-name")
+    })
     Optional<Role> findByName(String name);
 
     /**
@@ -0,0 +1,154 @@
+package com.tilingroofing.domain.repository;
+
+import com.tilingroofing.domain.entity.SlotCapacity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for SlotCapacity entities.
+ * Counters are only changed through single-statement conditional updates,
+ * so concurrent reservations never lose an increment.
+ */
+@Repository
+public interface SlotCapacityRepository extends JpaRepository<SlotCapacity, Long> {
+
+    /**
+     * Finds the counters from the given date onwards.
+     * Used to build the in-memory slot capacity index.
+     */
+    @Query("SELECT s FROM SlotCapacity s WHERE s.date >= :from")
+    List<SlotCapacity> findFrom(@Param("from") LocalDate from);
+
+    /**
+     * Finds the counters within a date range (inclusive).
+     */
+    @Query("SELECT s FROM SlotCapacity s WHERE s.date BETWEEN :from AND :to")
+    List<SlotCapacity> findBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Creates an empty counter for a slot if there is none yet.
+     * Unlike INSERT IGNORE, the no-op update takes an exclusive lock on an existing row,
+     * so a following compare-and-set never has to upgrade a shared lock.
+     *
+     * @return 1 either way - Connector/J reports found rows, and the no-op update finds the existing row
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "slot_capacity"))
+    @Query(value = """
+        INSERT INTO slot_capacity (date, time_slot, reserved)
+        VALUES (:date, :slot, 0)
+        ON DUPLICATE KEY UPDATE id = id
+    """, nativeQuery = true)
+    int createIfAbsent(@Param("date") LocalDate date, @Param("slot") String slot);
+
+    /**
+     * Adds units to a slot only if they still fit within its capacity.
+     * The check and the increment happen in one statement under the row lock.
+     *
+     * @return 1 if the units were reserved, 0 if the slot is full
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "slot_capacity"))
+    @Query(value = """
+        UPDATE slot_capacity
+        SET reserved = reserved + :units
+        WHERE date = :date AND time_slot = :slot
+          AND reserved + :units <= COALESCE(capacity, :defaultCapacity)
+    """, nativeQuery = true)
+    int tryReserve(
+            @Param("date") LocalDate date,
+            @Param("slot") String slot,
+            @Param("units") int units,
+            @Param("defaultCapacity") int defaultCapacity
+    );
+
+    /**
+     * Creates empty counters for every day of a slot within a date range (inclusive)
+     * that has none yet. The days are generated with a recursive CTE, so the whole
+     * range takes one statement.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "slot_capacity"))
+    @Query(value = """
+        INSERT INTO slot_capacity (date, time_slot, reserved)
+        WITH RECURSIVE span (span_date) AS (
+            SELECT CAST(:from AS DATE)
+            UNION ALL
+            SELECT span_date + INTERVAL 1 DAY FROM span WHERE span_date < :to
+        )
+        SELECT span_date, :slot, 0 FROM span
+        ON DUPLICATE KEY UPDATE id = slot_capacity.id
+    """, nativeQuery = true)
+    int createRangeIfAbsent(@Param("slot") String slot, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Locks the counters of a slot within a date range (inclusive) and returns the units
+     * still free on each day. Rows are locked in key order, so overlapping ranges queue
+     * behind each other instead of deadlocking.
+     */
+    @Query(value = """
+        SELECT CAST(COALESCE(capacity, :defaultCapacity) - reserved AS SIGNED)
+        FROM slot_capacity
+        WHERE time_slot = :slot AND date BETWEEN :from AND :to
+        ORDER BY date
+        FOR UPDATE
+    """, nativeQuery = true)
+    List<Long> lockRemaining(
+            @Param("slot") String slot,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("defaultCapacity") int defaultCapacity
+    );
+
+    /**
+     * Adds units to every day of a slot within a date range (inclusive), skipping days
+     * where they would not fit. Callers lock the range first and compare the count.
+     *
+     * @return number of days updated
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "slot_capacity"))
+    @Query(value = """
+        UPDATE slot_capacity
+        SET reserved = reserved + :units
+        WHERE time_slot = :slot AND date BETWEEN :from AND :to
+          AND reserved + :units <= COALESCE(capacity, :defaultCapacity)
+    """, nativeQuery = true)
+    int reserveRange(
+            @Param("slot") String slot,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("units") int units,
+            @Param("defaultCapacity") int defaultCapacity
+    );
+
+    /**
+     * Returns the units held by the given bookings to their slots in one statement,
+     * never taking a counter below zero.
+     *
+     * @return number of counters updated
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "slot_capacity"))
+    @Query(value = """
+        UPDATE slot_capacity s
+        JOIN (
+            SELECT date, time_slot, SUM(units) AS units
+            FROM slot_reservations
+            WHERE booking_id IN (:bookingIds)
+            GROUP BY date, time_slot
+        ) held ON held.date = s.date AND held.time_slot = s.time_slot
+        SET s.reserved = GREATEST(s.reserved - held.units, 0)
+    """, nativeQuery = true)
+    int releaseForBookings(@Param("bookingIds") Collection<Long> bookingIds);
+}
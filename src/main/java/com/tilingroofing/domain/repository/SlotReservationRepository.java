@@ -0,0 +1,54 @@
+package com.tilingroofing.domain.repository;
+
+import com.tilingroofing.domain.entity.SlotReservation;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for SlotReservation entities.
+ * Provides access to the capacity each booking holds.
+ */
+@Repository
+public interface SlotReservationRepository extends JpaRepository<SlotReservation, Long> {
+
+    /**
+     * Finds the reservations held by any of the given bookings.
+     */
+    @Query("SELECT r FROM SlotReservation r WHERE r.booking.id IN :bookingIds")
+    List<SlotReservation> findByBookingIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+
+    /**
+     * Records a booking's units for every day of a slot within a date range (inclusive)
+     * in one statement.
+     *
+     * @return number of ledger rows inserted
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "slot_reservations"))
+    @Query(value = """
+        INSERT INTO slot_reservations (booking_id, date, time_slot, units)
+        WITH RECURSIVE span (span_date) AS (
+            SELECT CAST(:from AS DATE)
+            UNION ALL
+            SELECT span_date + INTERVAL 1 DAY FROM span WHERE span_date < :to
+        )
+        SELECT :bookingId, span_date, :slot, :units FROM span
+    """, nativeQuery = true)
+    int insertRange(
+            @Param("bookingId") Long bookingId,
+            @Param("slot") String slot,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("units") int units
+    );
+}
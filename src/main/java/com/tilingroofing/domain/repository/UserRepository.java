@@ -4,6 +4,8 @@ import com.tilingroofing.domain.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -23,5 +25,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * Checks if a user exists with the given email.
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Finds all users with any of the given email addresses.
+     */
+    List<User> findByEmailIn(Collection<String> emails);
 }
 
@@ -4,8 +4,10 @@ import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
 import com.tilingroofing.config.JwtTokenProvider;
 import com.tilingroofing.domain.entity.Role;
 import com.tilingroofing.domain.entity.User;
+import com.tilingroofing.domain.repository.BookingRepository;
 import com.tilingroofing.domain.repository.RoleRepository;
 import com.tilingroofing.domain.repository.UserRepository;
+import com.tilingroofing.service.DataVersions.DataSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -24,17 +26,26 @@ public class AuthServiceImpl implements AuthService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final JwtTokenProvider jwtTokenProvider;
+    private final BookingRepository bookingRepository;
+    private final BookingResponseCache bookingResponseCache;
+    private final DataVersions dataVersions;
 
     public AuthServiceImpl(
             GoogleTokenVerifier googleTokenVerifier,
             UserRepository userRepository,
             RoleRepository roleRepository,
-            JwtTokenProvider jwtTokenProvider
+            JwtTokenProvider jwtTokenProvider,
+            BookingRepository bookingRepository,
+            BookingResponseCache bookingResponseCache,
+            DataVersions dataVersions
     ) {
         this.googleTokenVerifier = googleTokenVerifier;
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.bookingRepository = bookingRepository;
+        this.bookingResponseCache = bookingResponseCache;
+        this.dataVersions = dataVersions;
     }
 
     @Override
@@ -79,9 +90,11 @@ public class AuthServiceImpl implements AuthService {
                 .map(existingUser -> {
                     // Update user info if changed
                     boolean updated = false;
+                    boolean nameChanged = false;
                     if (hasChanged(existingUser.getName(), googleUserInfo.getName())) {
                         existingUser.setName(googleUserInfo.getName());
                         updated = true;
+                        nameChanged = true;
                     }
                     if (hasChanged(existingUser.getPicture(), googleUserInfo.getPicture())) {
                         existingUser.setPicture(googleUserInfo.getPicture());
@@ -93,7 +106,16 @@ public class AuthServiceImpl implements AuthService {
                     }
                     if (updated) {
                         log.debug("Updated user info for: {}", existingUser.getEmail());
-                        return userRepository.save(existingUser);
+                        User savedUser = userRepository.save(existingUser);
+                        if (nameChanged) {
+                            // Customer name is part of the booking search text
+                            bookingRepository.refreshSearchTextForUser(savedUser.getId());
+                        }
+                        // Booking and notification responses embed the user's profile
+                        bookingResponseCache.invalidateIds(bookingRepository.findIdsByUserId(savedUser.getId()));
+                        dataVersions.changed(DataSet.BOOKINGS);
+                        dataVersions.changed(DataSet.NOTIFICATIONS);
+                        return savedUser;
                     }
                     return existingUser;
                 })
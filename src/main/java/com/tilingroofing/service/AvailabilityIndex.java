@@ -0,0 +1,144 @@
+package com.tilingroofing.service;
+
+import com.tilingroofing.config.ReplicaRouting;
+import com.tilingroofing.domain.repository.BlockedDateRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+
+/**
+ * In-memory index of blocked dates.
+ * Answers "is this date blocked?" from a bitset keyed by day offset, so the date picker
+ * and the booking submit path don't need a database round trip per check.
+ *
+ * The index is loaded on startup and refreshed periodically to pick up changes made by
+ * other application nodes. Local changes are applied only after the surrounding
+ * transaction commits, so a rolled-back booking never leaves a stale entry behind.
+ * The UNIQUE constraint on blocked_dates.date remains the final authority on writes.
+ */
+@Component
+public class AvailabilityIndex extends RefreshableIndex<BitSet, LocalDate, AvailabilityIndex.Mutation> {
+
+    private final BlockedDateRepository blockedDateRepository;
+
+    // Guarded by lock
+    private BitSet blockedDays = new BitSet();
+    private long originEpochDay;
+
+    public AvailabilityIndex(BlockedDateRepository blockedDateRepository) {
+        this.blockedDateRepository = blockedDateRepository;
+    }
+
+    /**
+     * Checks whether a date is blocked.
+     * Dates before the index origin (or any date while the index is not loaded)
+     * are answered by the database.
+     */
+    public boolean isBlocked(LocalDate date) {
+        lock.readLock().lock();
+        try {
+            if (covers(date)) {
+                long offset = date.toEpochDay() - originEpochDay;
+                return offset <= Integer.MAX_VALUE && blockedDays.get((int) offset);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return blockedDateRepository.existsByDate(date);
+    }
+
+    /**
+     * Returns the blocked days in a date range as a bitset, where bit i is {@code from + i days}.
+     * Ranges starting before the index origin (or any range while the index is not loaded)
+     * are answered by the database.
+     */
+    public BitSet blockedBetween(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            if (covers(from)) {
+                long fromOffset = from.toEpochDay() - originEpochDay;
+                long toOffset = to.toEpochDay() - originEpochDay;
+                if (toOffset < Integer.MAX_VALUE) {
+                    return blockedDays.get((int) fromOffset, (int) toOffset + 1);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        BitSet blocked = new BitSet();
+        for (LocalDate date : ReplicaRouting.onPrimary(() -> blockedDateRepository.findDatesBetween(from, to))) {
+            blocked.set(Math.toIntExact(date.toEpochDay() - from.toEpochDay()));
+        }
+        return blocked;
+    }
+
+    /**
+     * Records that a date has been blocked.
+     * Applied after the current transaction commits, or immediately if there is none.
+     */
+    public void markBlocked(LocalDate date) {
+        record(new Mutation(date, true));
+    }
+
+    /**
+     * Records that a date has been unblocked.
+     * Applied after the current transaction commits, or immediately if there is none.
+     */
+    public void markUnblocked(LocalDate date) {
+        record(new Mutation(date, false));
+    }
+
+    @Override
+    protected BitSet load(LocalDate from) {
+        BitSet snapshot = new BitSet();
+        long originDay = from.toEpochDay();
+        for (LocalDate date : ReplicaRouting.onPrimary(() -> blockedDateRepository.findDatesFrom(from))) {
+            snapshot.set(Math.toIntExact(date.toEpochDay() - originDay));
+        }
+        return snapshot;
+    }
+
+    @Override
+    protected void install(BitSet snapshot, LocalDate from) {
+        blockedDays = snapshot;
+        originEpochDay = from.toEpochDay();
+    }
+
+    @Override
+    protected void keepCurrent(BitSet snapshot, LocalDate from, LocalDate date) {
+        long offset = date.toEpochDay() - originEpochDay;
+        long snapshotOffset = date.toEpochDay() - from.toEpochDay();
+        if (snapshotOffset >= 0 && snapshotOffset <= Integer.MAX_VALUE) {
+            snapshot.set((int) snapshotOffset, offset >= 0 && offset <= Integer.MAX_VALUE && blockedDays.get((int) offset));
+        }
+    }
+
+    @Override
+    protected void applyLocked(Mutation mutation) {
+        long offset = mutation.date().toEpochDay() - originEpochDay;
+        if (!covers(mutation.date()) || offset > Integer.MAX_VALUE) {
+            return; // Outside the indexed range, answered by the database
+        }
+        blockedDays.set((int) offset, mutation.blocked());
+    }
+
+    @Override
+    protected LocalDate keyOf(Mutation mutation) {
+        return mutation.date();
+    }
+
+    @Override
+    protected String name() {
+        return "availability index";
+    }
+
+    @Override
+    protected String describe(BitSet snapshot, LocalDate from) {
+        return snapshot.cardinality() + " blocked date(s) from " + from;
+    }
+
+    record Mutation(LocalDate date, boolean blocked) {
+    }
+}
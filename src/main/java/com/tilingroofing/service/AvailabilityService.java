@@ -0,0 +1,41 @@
+package com.tilingroofing.service;
+
+import com.tilingroofing.api.dto.response.AvailableDateResponse;
+import com.tilingroofing.api.dto.response.MonthAvailabilityResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for public booking availability.
+ * Defines the contract for the compact availability representation used by the date picker.
+ */
+public interface AvailabilityService {
+
+    /**
+     * Availability for a month together with its strong entity tag.
+     * The tag is derived from the content, so every instance produces the same tag for the same data.
+     */
+    record MonthAvailability(MonthAvailabilityResponse body, String etag) {
+    }
+
+    /**
+     * Gets the availability of every day in a month.
+     * 
+     * @param month The month in yyyy-MM format
+     * @return The availability bitmasks and their entity tag
+     */
+    MonthAvailability getMonthAvailability(String month);
+
+    /**
+     * Finds the next bookable start dates after a given date for a job.
+     * A job that takes several days needs every day of its span open and with room in one slot.
+     * Scans the in-memory availability indexes; no query is issued per candidate day.
+     * 
+     * @param after Optional date to search after (ISO format); defaults to today
+     * @param jobSize The job size
+     * @param timeSlot Optional time slot; if omitted, every bookable slot is returned per date
+     * @param count Maximum number of dates to return
+     * @return The bookable dates in ascending order, possibly fewer than requested
+     */
+    List<AvailableDateResponse> findNextAvailableDates(String after, String jobSize, String timeSlot, int count);
+}
@@ -0,0 +1,239 @@
+package com.tilingroofing.service;
+
+import com.tilingroofing.api.dto.response.AvailableDateResponse;
+import com.tilingroofing.api.dto.response.MonthAvailabilityResponse;
+import com.tilingroofing.common.exception.BusinessException;
+import com.tilingroofing.config.CapacityProperties;
+import com.tilingroofing.domain.enums.JobSize;
+import com.tilingroofing.domain.enums.TimeSlot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of AvailabilityService.
+ * Month bitmasks are computed from the in-memory availability and slot capacity indexes and
+ * cached until either index changes or the day rolls over, so repeated date picker requests
+ * cost a map lookup.
+ *
+ * A slot is bookable if its day is after today, the day is not closed, and the slot still has
+ * room for the smallest job. A flexible booking can take either crew slot.
+ */
+@Service
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    private final AvailabilityIndex availabilityIndex;
+    private final SlotCapacityIndex slotCapacityIndex;
+    private final SlotScheduler slotScheduler;
+    private final CapacityProperties capacityProperties;
+    private final int maxMonthsAhead;
+    private final Map<YearMonth, CachedMonth> cache = new ConcurrentHashMap<>();
+
+    public AvailabilityServiceImpl(
+            AvailabilityIndex availabilityIndex,
+            SlotCapacityIndex slotCapacityIndex,
+            SlotScheduler slotScheduler,
+            CapacityProperties capacityProperties,
+            @Value("${app.availability.max-months-ahead:24}") int maxMonthsAhead
+    ) {
+        this.availabilityIndex = availabilityIndex;
+        this.slotCapacityIndex = slotCapacityIndex;
+        this.slotScheduler = slotScheduler;
+        this.capacityProperties = capacityProperties;
+        this.maxMonthsAhead = maxMonthsAhead;
+    }
+
+    @Override
+    public MonthAvailability getMonthAvailability(String month) {
+        YearMonth yearMonth = parseMonth(month);
+        LocalDate today = LocalDate.now();
+        YearMonth currentMonth = YearMonth.from(today);
+        if (yearMonth.isAfter(currentMonth.plusMonths(maxMonthsAhead))) {
+            throw new BusinessException("INVALID_MONTH",
+                    String.format("Availability is only published %d months ahead", maxMonthsAhead));
+        }
+        if (yearMonth.isBefore(currentMonth)) {
+            // Nothing in a past month is bookable; not worth caching
+            return compute(yearMonth, today);
+        }
+
+        // Read the version before computing, so a change during computation invalidates the entry.
+        // Both counters only ever increase, so their sum changes whenever either index does
+        long version = availabilityIndex.getVersion() + slotCapacityIndex.getVersion();
+        CachedMonth cached = cache.get(yearMonth);
+        if (cached != null && cached.version() == version && cached.computedOn().equals(today)) {
+            return cached.availability();
+        }
+
+        MonthAvailability availability = compute(yearMonth, today);
+        cache.put(yearMonth, new CachedMonth(version, today, availability));
+        cache.keySet().removeIf(cachedMonth -> cachedMonth.isBefore(currentMonth));
+        return availability;
+    }
+
+    @Override
+    public List<AvailableDateResponse> findNextAvailableDates(
+            String after, String jobSize, String timeSlot, int count) {
+        JobSize size = parseJobSize(jobSize);
+        int units = slotScheduler.weightOf(size);
+        int days = slotScheduler.daysOf(size);
+        List<TimeSlot> candidates = SlotScheduler.candidateSlots(
+                timeSlot == null || timeSlot.isBlank() ? null : parseTimeSlot(timeSlot));
+
+        LocalDate today = LocalDate.now();
+        LocalDate afterDate = parseDate(after);
+        LocalDate start = (afterDate == null || afterDate.isBefore(today) ? today : afterDate).plusDays(1);
+        LocalDate end = YearMonth.from(today).plusMonths(maxMonthsAhead).atEndOfMonth();
+
+        List<AvailableDateResponse> dates = new ArrayList<>(count);
+        if (start.isAfter(end)) {
+            return dates;
+        }
+
+        // The job has to finish within the published horizon, so its last day is the scan limit
+        BitSet blocked = availabilityIndex.blockedBetween(start, end);
+        SlotCapacityIndex.Snapshot capacity = slotCapacityIndex.between(start, end);
+        int lastStart = Math.toIntExact(end.toEpochDay() - start.toEpochDay()) - (days - 1);
+        for (int offset = blocked.nextClearBit(0); offset <= lastStart && dates.size() < count;
+             offset = blocked.nextClearBit(offset + 1)) {
+            int nextClosed = blocked.nextSetBit(offset);
+            if (nextClosed >= 0 && nextClosed < offset + days) {
+                // A closed day falls inside the span - no start before it can work either
+                offset = nextClosed;
+                continue;
+            }
+            LocalDate date = start.plusDays(offset);
+            LocalDate endDate = date.plusDays(days - 1L);
+            List<String> slots = candidates.stream()
+                    .filter(slot -> capacity.fits(slot, date, endDate, units))
+                    .map(TimeSlot::getValue)
+                    .toList();
+            if (!slots.isEmpty()) {
+                dates.add(AvailableDateResponse.builder()
+                        .date(date)
+                        .endDate(endDate)
+                        .slots(slots)
+                        .build());
+            }
+        }
+        return dates;
+    }
+
+    /**
+     * Builds the availability bitmasks for a month.
+     */
+    private MonthAvailability compute(YearMonth month, LocalDate today) {
+        int days = month.lengthOfMonth();
+        LocalDate first = month.atDay(1);
+        long[] slotMasks = new long[SlotScheduler.CREW_SLOTS.size()];
+
+        if (month.atEndOfMonth().isAfter(today)) {
+            LocalDate firstBookable = today.isBefore(first) ? first : today.plusDays(1);
+            BitSet blocked = availabilityIndex.blockedBetween(firstBookable, month.atEndOfMonth());
+            SlotCapacityIndex.Snapshot capacity = slotCapacityIndex.between(firstBookable, month.atEndOfMonth());
+            int minUnits = capacityProperties.minWeight();
+            int skipped = firstBookable.getDayOfMonth() - 1;
+            for (int day = skipped; day < days; day++) {
+                if (blocked.get(day - skipped)) {
+                    continue;
+                }
+                LocalDate date = month.atDay(day + 1);
+                for (int i = 0; i < slotMasks.length; i++) {
+                    if (capacity.remaining(date, SlotScheduler.CREW_SLOTS.get(i)) >= minUnits) {
+                        slotMasks[i] |= 1L << day;
+                    }
+                }
+            }
+        }
+
+        // A day is available if any crew slot has room; flexible bookings take either slot
+        long available = 0;
+        Map<String, Long> slots = new LinkedHashMap<>();
+        for (int i = 0; i < slotMasks.length; i++) {
+            slots.put(SlotScheduler.CREW_SLOTS.get(i).getValue(), slotMasks[i]);
+            available |= slotMasks[i];
+        }
+        slots.put(TimeSlot.FLEXIBLE.getValue(), available);
+
+        MonthAvailabilityResponse body = MonthAvailabilityResponse.builder()
+                .month(month.toString())
+                .days(days)
+                .available(available)
+                .slots(slots)
+                .build();
+        return new MonthAvailability(body, etag(body));
+    }
+
+    /**
+     * Builds a strong entity tag from the content itself, e.g. "2026-10.7ffffffe.7ffffffe...".
+     */
+    private String etag(MonthAvailabilityResponse body) {
+        StringBuilder tag = new StringBuilder("\"").append(body.getMonth())
+                .append('.').append(Long.toHexString(body.getAvailable()));
+        for (Long mask : body.getSlots().values()) {
+            tag.append('.').append(Long.toHexString(mask));
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Parses a month in yyyy-MM format.
+     */
+    private YearMonth parseMonth(String month) {
+        try {
+            return YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("INVALID_MONTH_FORMAT",
+                    "Invalid month format: " + month + ". Use yyyy-MM");
+        }
+    }
+
+    /**
+     * Parses an optional ISO date.
+     */
+    private LocalDate parseDate(String date) {
+        if (date == null || date.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("INVALID_DATE_FORMAT",
+                    "Invalid date format: " + date + ". Use ISO format (YYYY-MM-DD)");
+        }
+    }
+
+    /**
+     * Parses a job size value.
+     */
+    private JobSize parseJobSize(String jobSize) {
+        try {
+            return JobSize.fromValue(jobSize);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("INVALID_JOB_SIZE", "Invalid job size: " + jobSize);
+        }
+    }
+
+    /**
+     * Parses a time slot value.
+     */
+    private TimeSlot parseTimeSlot(String timeSlot) {
+        try {
+            return TimeSlot.fromValue(timeSlot);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("INVALID_TIME_SLOT", "Invalid time slot: " + timeSlot);
+        }
+    }
+
+    private record CachedMonth(long version, LocalDate computedOn, MonthAvailability availability) {
+    }
+}
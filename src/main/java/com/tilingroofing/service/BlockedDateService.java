@@ -50,4 +50,12 @@ public interface BlockedDateService {
      * @return true if the date is blocked, false otherwise
      */
     boolean isDateBlocked(LocalDate date);
+
+    /**
+     * Returns the entity tag of the blocked dates, for conditional requests.
+     * Includes today's date, since the upcoming list changes at midnight.
+     * 
+     * @return Strong entity tag
+     */
+    String getBlockedDatesEtag();
 }
@@ -5,7 +5,9 @@ import com.tilingroofing.api.dto.response.BlockedDateResponse;
 import com.tilingroofing.api.mapper.BookingMapper;
 import com.tilingroofing.common.exception.BusinessException;
 import com.tilingroofing.domain.entity.BlockedDate;
+import com.tilingroofing.domain.projection.BlockedDateView;
 import com.tilingroofing.domain.repository.BlockedDateRepository;
+import com.tilingroofing.service.DataVersions.DataSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -26,11 +28,20 @@ public class BlockedDateServiceImpl implements BlockedDateService {
     private static final Logger log = LoggerFactory.getLogger(BlockedDateServiceImpl.class);
 
     private final BlockedDateRepository blockedDateRepository;
+    private final AvailabilityIndex availabilityIndex;
     private final BookingMapper bookingMapper;
-
-    public BlockedDateServiceImpl(BlockedDateRepository blockedDateRepository, BookingMapper bookingMapper) {
+    private final DataVersions dataVersions;
+
+    public BlockedDateServiceImpl(
+            BlockedDateRepository blockedDateRepository,
+            AvailabilityIndex availabilityIndex,
+            BookingMapper bookingMapper,
+            DataVersions dataVersions
+    ) {
         this.blockedDateRepository = blockedDateRepository;
+        this.availabilityIndex = availabilityIndex;
         this.bookingMapper = bookingMapper;
+        this.dataVersions = dataVersions;
     }
 
     @Override
@@ -47,18 +58,15 @@ public class BlockedDateServiceImpl implements BlockedDateService {
                         "Cannot block past dates: " + dateStr);
             }
 
-            // Skip if already blocked
-            if (blockedDateRepository.existsByDate(date)) {
+            // Insert-first claim - skip if already blocked
+            if (!blockedDateRepository.claim(date, request.getReason(), null)) {
                 log.info("Date {} is already blocked, skipping", date);
                 continue;
             }
 
-            BlockedDate blockedDate = BlockedDate.builder()
-                    .date(date)
-                    .reason(request.getReason())
-                    .build();
-
-            blockedDates.add(blockedDateRepository.save(blockedDate));
+            blockedDateRepository.findByDate(date).ifPresent(blockedDates::add);
+            availabilityIndex.markBlocked(date);
+            dataVersions.changed(DataSet.BLOCKED_DATES);
             log.info("Blocked date: {}", date);
         }
 
@@ -68,33 +76,41 @@ public class BlockedDateServiceImpl implements BlockedDateService {
     @Override
     @Transactional
     public void unblockDate(Long id) {
-        if (!blockedDateRepository.existsById(id)) {
-            throw new BusinessException("NOT_FOUND", "Blocked date not found");
-        }
-        blockedDateRepository.deleteById(id);
+        BlockedDate blockedDate = blockedDateRepository.findById(id)
+                .orElseThrow(() -> new BusinessException("NOT_FOUND", "Blocked date not found"));
+        blockedDateRepository.delete(blockedDate);
+        availabilityIndex.markUnblocked(blockedDate.getDate());
+        dataVersions.changed(DataSet.BLOCKED_DATES);
         log.info("Unblocked date with id: {}", id);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<BlockedDateResponse> getUpcomingBlockedDates() {
-        List<BlockedDate> blockedDates = blockedDateRepository
+        List<BlockedDateView> blockedDates = blockedDateRepository
                 .findUpcomingBlockedDates(LocalDate.now());
-        return bookingMapper.toBlockedDateResponseList(blockedDates);
+        return bookingMapper.toBlockedDateViewResponseList(blockedDates);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<BlockedDateResponse> getBlockedDatesInRange(LocalDate startDate, LocalDate endDate) {
-        List<BlockedDate> blockedDates = blockedDateRepository
+        List<BlockedDateView> blockedDates = blockedDateRepository
                 .findByDateBetween(startDate, endDate);
-        return bookingMapper.toBlockedDateResponseList(blockedDates);
+        return bookingMapper.toBlockedDateViewResponseList(blockedDates);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public boolean isDateBlocked(LocalDate date) {
-        return blockedDateRepository.existsByDate(date);
+        return availabilityIndex.isBlocked(date);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getBlockedDatesEtag() {
+        return DataVersions.etag(
+                dataVersions.tag(DataSet.BLOCKED_DATES),
+                LocalDate.now().toString());
     }
 
     /**
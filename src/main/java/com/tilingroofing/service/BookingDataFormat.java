@@ -0,0 +1,53 @@
+package com.tilingroofing.service;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Data formats supported by booking import and export.
+ */
+public enum BookingDataFormat {
+
+    /** One JSON object per line. */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /** Comma-separated values with a header line naming the fields. */
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    BookingDataFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Resolves a format from a Content-Type header value.
+     * Anything that isn't CSV is treated as NDJSON.
+     */
+    public static BookingDataFormat fromMediaType(String contentType) {
+        return MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(CSV.mediaType))
+                ? CSV
+                : NDJSON;
+    }
+
+    /**
+     * Parses a format name (e.g. "csv"), case-insensitively.
+     */
+    public static BookingDataFormat fromValue(String value) {
+        for (BookingDataFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown format: " + value);
+    }
+}
@@ -0,0 +1,43 @@
+package com.tilingroofing.service;
+
+import com.tilingroofing.domain.enums.BookingStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Service interface for exporting bookings.
+ * Defines the contract for streaming exports used by reporting jobs.
+ */
+public interface BookingExportService {
+
+    /**
+     * Validated export filter. Null fields mean no restriction.
+     */
+    record Filter(BookingStatus status, LocalDate from, LocalDate to) {
+    }
+
+    /**
+     * Parses and validates export filter parameters.
+     * Called before the response starts streaming, so invalid input is still reported as an error response.
+     * 
+     * @param status Optional status filter
+     * @param from Optional first preferred date (ISO format, inclusive)
+     * @param to Optional last preferred date (ISO format, inclusive)
+     * @return The validated filter
+     */
+    Filter createFilter(String status, String from, String to);
+
+    /**
+     * Writes all bookings matching the filter to the output stream, oldest first.
+     * Rows are streamed from the database and written as they are read, so memory use
+     * does not depend on the number of bookings exported.
+     * 
+     * @param filter The export filter
+     * @param format The output format
+     * @param output The stream to write to; not closed by this method
+     * @return The number of bookings written
+     */
+    long exportBookings(Filter filter, BookingDataFormat format, OutputStream output) throws IOException;
+}
@@ -0,0 +1,151 @@
+package com.tilingroofing.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tilingroofing.api.mapper.BookingMapper;
+import com.tilingroofing.common.exception.BusinessException;
+import com.tilingroofing.domain.enums.BookingStatus;
+import com.tilingroofing.domain.projection.BookingListView;
+import com.tilingroofing.domain.repository.BookingRepository;
+import com.tilingroofing.util.CsvUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of BookingExportService.
+ * Reads read-only BookingListView projections from a streaming result set, so neither the
+ * JDBC driver nor the persistence context holds more than the current row.
+ */
+@Service
+public class BookingExportServiceImpl implements BookingExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingExportServiceImpl.class);
+
+    // Rows written between flushes to the client
+    private static final int FLUSH_INTERVAL = 500;
+
+    private static final List<String> CSV_HEADER = List.of(
+            "id", "bookingRef", "status", "serviceId", "jobSize", "suburb", "postcode", "description",
+            "preferredDate", "timeSlot", "customerName", "customerEmail", "customerPhone",
+            "createdAt", "updatedAt");
+
+    private final BookingRepository bookingRepository;
+    private final BookingMapper bookingMapper;
+    private final ObjectMapper objectMapper;
+
+    public BookingExportServiceImpl(
+            BookingRepository bookingRepository,
+            BookingMapper bookingMapper,
+            ObjectMapper objectMapper
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.bookingMapper = bookingMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Filter createFilter(String status, String from, String to) {
+        BookingStatus bookingStatus = null;
+        if (status != null && !status.isBlank()) {
+            try {
+                bookingStatus = BookingStatus.fromValue(status);
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException("INVALID_STATUS", "Invalid booking status: " + status);
+            }
+        }
+
+        LocalDate fromDate = parseDate(from);
+        LocalDate toDate = parseDate(to);
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new BusinessException("INVALID_DATE_RANGE", "The 'from' date must not be after the 'to' date");
+        }
+        return new Filter(bookingStatus, fromDate, toDate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportBookings(Filter filter, BookingDataFormat format, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == BookingDataFormat.CSV) {
+            writer.write(CsvUtil.formatLine(CSV_HEADER));
+            writer.write('\n');
+        }
+
+        long count = 0;
+        try (Stream<BookingListView> rows = bookingRepository.streamForExport(filter.status(), filter.from(), filter.to())) {
+            Iterator<BookingListView> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                BookingListView row = iterator.next();
+                writer.write(format == BookingDataFormat.CSV ? toCsvLine(row) : toJsonLine(row));
+                writer.write('\n');
+                if (++count % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+
+        log.info("Exported {} booking(s) as {} (status: {}, from: {}, to: {})",
+                count, format, filter.status(), filter.from(), filter.to());
+        return count;
+    }
+
+    /**
+     * Formats a booking as a CSV line matching CSV_HEADER.
+     */
+    private String toCsvLine(BookingListView row) {
+        return CsvUtil.formatLine(Arrays.asList(
+                String.valueOf(row.id()),
+                row.bookingRef(),
+                row.status().getValue(),
+                row.serviceId(),
+                row.jobSize().getValue(),
+                row.suburb(),
+                row.postcode(),
+                row.description(),
+                Objects.toString(row.preferredDate(), null),
+                row.timeSlot().getValue(),
+                row.userName(),
+                row.userEmail(),
+                row.customerPhone(),
+                Objects.toString(row.createdAt(), null),
+                Objects.toString(row.updatedAt(), null)));
+    }
+
+    /**
+     * Formats a booking as a JSON line in the same shape as the booking API (without files).
+     */
+    private String toJsonLine(BookingListView row) throws IOException {
+        return objectMapper.writeValueAsString(bookingMapper.toBookingResponse(row, null));
+    }
+
+    /**
+     * Parses an optional ISO date.
+     */
+    private LocalDate parseDate(String date) {
+        if (date == null || date.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("INVALID_DATE_FORMAT",
+                    "Invalid date format: " + date + ". Use ISO format (YYYY-MM-DD)");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.tilingroofing.service;
+
+import com.tilingroofing.api.dto.response.BookingImportEvent;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Service interface for bulk importing bookings.
+ * Defines the contract for streaming imports from external systems.
+ */
+public interface BookingImportService {
+
+    /**
+     * Imports bookings from a stream, one row at a time.
+     * Rows are validated individually and inserted in batches, each batch in its own transaction,
+     * so the input is never held in memory and a bad row never rejects the rest of the file.
+     * 
+     * @param input The import data (UTF-8)
+     * @param format The format of the import data
+     * @param listener Receives per-row errors and progress after each batch
+     * @return Summary event with the final totals
+     */
+    BookingImportEvent importBookings(InputStream input, BookingDataFormat format, Consumer<BookingImportEvent> listener);
+}
@@ -0,0 +1,398 @@
+package com.tilingroofing.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tilingroofing.api.dto.request.BookingImportRow;
+import com.tilingroofing.api.dto.response.BookingImportEvent;
+import com.tilingroofing.common.exception.BusinessException;
+import com.tilingroofing.domain.entity.Booking;
+import com.tilingroofing.domain.entity.Role;
+import com.tilingroofing.domain.entity.User;
+import com.tilingroofing.domain.enums.BookingStatus;
+import com.tilingroofing.domain.enums.JobSize;
+import com.tilingroofing.domain.enums.TimeSlot;
+import com.tilingroofing.domain.repository.BlockedDateRepository;
+import com.tilingroofing.domain.repository.BookingRepository;
+import com.tilingroofing.domain.repository.RoleRepository;
+import com.tilingroofing.domain.repository.UserRepository;
+import com.tilingroofing.util.CsvUtil;
+import com.tilingroofing.util.PhoneNumberUtil;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of BookingImportService.
+ * Streams rows from NDJSON or CSV input, validates them against the booking form constraints,
+ * and inserts users and bookings in JDBC batches.
+ *
+ * Imported bookings are treated like bookings created through the API: each reserves
+ * capacity in its time slot, and a row whose date is closed or whose slot is full is
+ * rejected. No emails or notifications are sent for imported bookings.
+ */
+@Service
+public class BookingImportServiceImpl implements BookingImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingImportServiceImpl.class);
+
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final BlockedDateRepository blockedDateRepository;
+    private final SlotScheduler slotScheduler;
+    private final BookingRefGenerator bookingRefGenerator;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final DataVersions dataVersions;
+    private final TransactionTemplate batchTransaction;
+    private final int batchSize;
+
+    public BookingImportServiceImpl(
+            BookingRepository bookingRepository,
+            UserRepository userRepository,
+            RoleRepository roleRepository,
+            BlockedDateRepository blockedDateRepository,
+            SlotScheduler slotScheduler,
+            BookingRefGenerator bookingRefGenerator,
+            Validator validator,
+            ObjectMapper objectMapper,
+            DataVersions dataVersions,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.import.batch-size:100}") int batchSize
+    ) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Import batch size must be positive");
+        }
+        this.bookingRepository = bookingRepository;
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.blockedDateRepository = blockedDateRepository;
+        this.slotScheduler = slotScheduler;
+        this.bookingRefGenerator = bookingRefGenerator;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.dataVersions = dataVersions;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public BookingImportEvent importBookings(
+            InputStream input, BookingDataFormat format, Consumer<BookingImportEvent> listener) {
+        ImportTotals totals = new ImportTotals();
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            List<String> csvHeader = null;
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == BookingDataFormat.CSV && csvHeader == null) {
+                    csvHeader = CsvUtil.parseLine(stripBom(line)).stream().map(String::trim).toList();
+                    continue;
+                }
+
+                totals.processed++;
+                BookingImportRow row;
+                try {
+                    row = format == BookingDataFormat.CSV ? parseCsvRow(csvHeader, line) : parseJsonRow(stripBom(line));
+                } catch (IllegalArgumentException | JsonProcessingException e) {
+                    reportError(listener, totals, lineNumber, "INVALID_ROW", "Row could not be parsed: " + e.getMessage());
+                    continue;
+                }
+
+                String violations = validate(row);
+                if (violations != null) {
+                    reportError(listener, totals, lineNumber, "VALIDATION_FAILED", violations);
+                    continue;
+                }
+
+                batch.add(new PendingRow(lineNumber, row));
+                if (batch.size() >= batchSize) {
+                    flushBatch(batch, listener, totals);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Booking import aborted after {} row(s): {}", totals.processed, e.getMessage(), e);
+            throw new BusinessException("IMPORT_READ_FAILED", "Failed to read import data: " + e.getMessage());
+        }
+
+        if (!batch.isEmpty()) {
+            flushBatch(batch, listener, totals);
+        }
+
+        log.info("Booking import finished: {} processed, {} imported, {} failed",
+                totals.processed, totals.imported, totals.failed);
+        BookingImportEvent summary = totals.toEvent(BookingImportEvent.TYPE_SUMMARY);
+        listener.accept(summary);
+        return summary;
+    }
+
+    /**
+     * Inserts a batch of validated rows in its own transaction and reports the outcome.
+     * If the transaction fails, every row of the batch is reported as failed.
+     */
+    private void flushBatch(List<PendingRow> batch, Consumer<BookingImportEvent> listener, ImportTotals totals) {
+        List<RowError> errors;
+        try {
+            errors = batchTransaction.execute(status -> insertBatch(batch));
+        } catch (RuntimeException e) {
+            log.error("Booking import batch of {} row(s) failed: {}", batch.size(), e.getMessage(), e);
+            errors = batch.stream()
+                    .map(row -> new RowError(row.line(), "BATCH_FAILED", "Batch could not be saved: " + e.getMessage()))
+                    .toList();
+        }
+
+        for (RowError error : errors) {
+            reportError(listener, totals, error.line(), error.code(), error.message());
+        }
+        totals.imported += batch.size() - errors.size();
+        batch.clear();
+
+        listener.accept(totals.toEvent(BookingImportEvent.TYPE_PROGRESS));
+    }
+
+    /**
+     * Inserts users and bookings for a batch of rows and reserves their slot capacity.
+     * Runs inside the batch transaction.
+     *
+     * @return errors for rows that were not imported
+     */
+    private List<RowError> insertBatch(List<PendingRow> rows) {
+        List<RowError> errors = new ArrayList<>();
+
+        // Reject rows with any day of their job closed by an admin, in one query for the batch
+        Map<PendingRow, List<LocalDate>> spans = new HashMap<>();
+        for (PendingRow row : rows) {
+            LocalDate start = LocalDate.parse(row.data().getDate());
+            LocalDate end = slotScheduler.endDateOf(start, JobSize.fromValue(row.data().getJobSize()));
+            spans.put(row, start.datesUntil(end.plusDays(1)).toList());
+        }
+        List<LocalDate> dates = spans.values().stream().flatMap(List::stream).distinct().toList();
+        Set<LocalDate> closedDates = new HashSet<>(blockedDateRepository.findBlockedDatesIn(dates));
+        List<PendingRow> accepted = new ArrayList<>();
+        for (PendingRow row : rows) {
+            if (spans.get(row).stream().anyMatch(closedDates::contains)) {
+                errors.add(dateBlocked(row.line()));
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return errors;
+        }
+
+        Map<String, User> usersByEmail = findOrCreateUsers(accepted);
+
+        // Insert bookings - table-allocated IDs let Hibernate batch these inserts
+        Map<PendingRow, Booking> bookings = new LinkedHashMap<>();
+        for (PendingRow row : accepted) {
+            BookingImportRow data = row.data();
+            bookings.put(row, Booking.builder()
+                    .bookingRef(bookingRefGenerator.nextRef())
+                    .status(BookingStatus.PENDING)
+                    .serviceId(data.getServiceId())
+                    .jobSize(JobSize.fromValue(data.getJobSize()))
+                    .suburb(data.getSuburb())
+                    .postcode(data.getPostcode())
+                    .description(data.getDescription())
+                    .preferredDate(LocalDate.parse(data.getDate()))
+                    .timeSlot(TimeSlot.fromValue(data.getTimeSlot()))
+                    .user(usersByEmail.get(emailKey(data.getEmail())))
+                    .customerPhone(PhoneNumberUtil.normalize(data.getPhone()))
+                    .build());
+        }
+        bookingRepository.saveAll(bookings.values());
+        bookingRepository.flush();
+
+        // Reserve slot capacity in row order - rows that no longer fit are undone
+        List<Long> conflictedIds = new ArrayList<>();
+        List<Long> importedIds = new ArrayList<>();
+        for (Map.Entry<PendingRow, Booking> entry : bookings.entrySet()) {
+            Booking booking = entry.getValue();
+            try {
+                slotScheduler.reserve(booking);
+                importedIds.add(booking.getId());
+            } catch (BusinessException e) {
+                conflictedIds.add(booking.getId());
+                errors.add(new RowError(entry.getKey().line(), e.getCode(), e.getMessage()));
+            }
+        }
+        if (!conflictedIds.isEmpty()) {
+            bookingRepository.deleteAllByIdInBatch(conflictedIds);
+        }
+        if (!importedIds.isEmpty()) {
+            bookingRepository.refreshSearchTextForBookings(importedIds);
+            dataVersions.changed(DataVersions.DataSet.BOOKINGS);
+        }
+
+        return errors;
+    }
+
+    /**
+     * Finds the users for a batch of rows by email, creating the missing ones with the USER role.
+     */
+    private Map<String, User> findOrCreateUsers(List<PendingRow> rows) {
+        // Keyed by lower-cased email, matching the case-insensitive collation of users.email
+        Map<String, PendingRow> rowsByEmail = new LinkedHashMap<>();
+        for (PendingRow row : rows) {
+            rowsByEmail.putIfAbsent(emailKey(row.data().getEmail()), row);
+        }
+
+        List<String> emails = rowsByEmail.values().stream().map(row -> row.data().getEmail().trim()).toList();
+        Map<String, User> usersByEmail = new HashMap<>(userRepository.findByEmailIn(emails).stream()
+                .collect(Collectors.toMap(user -> emailKey(user.getEmail()), Function.identity())));
+
+        List<User> newUsers = new ArrayList<>();
+        Role userRole = null;
+        for (Map.Entry<String, PendingRow> entry : rowsByEmail.entrySet()) {
+            if (usersByEmail.containsKey(entry.getKey())) {
+                continue;
+            }
+            if (userRole == null) {
+                userRole = roleRepository.findByName("USER")
+                        .orElseThrow(() -> new IllegalStateException("USER role not found in database. Please ensure roles are initialized."));
+            }
+            BookingImportRow data = entry.getValue().data();
+            User user = User.builder()
+                    .email(data.getEmail().trim())
+                    .name(data.getName())
+                    .role(userRole)
+                    .build();
+            newUsers.add(user);
+            usersByEmail.put(entry.getKey(), user);
+        }
+        if (!newUsers.isEmpty()) {
+            userRepository.saveAll(newUsers);
+            log.info("Created {} user(s) during booking import", newUsers.size());
+        }
+        return usersByEmail;
+    }
+
+    /**
+     * Parses an NDJSON line into a row.
+     */
+    private BookingImportRow parseJsonRow(String line) throws JsonProcessingException {
+        return objectMapper.readValue(line, BookingImportRow.class);
+    }
+
+    /**
+     * Parses a CSV line into a row, using the header to name the fields.
+     * Unknown columns are ignored.
+     */
+    private BookingImportRow parseCsvRow(List<String> header, String line) {
+        List<String> values = CsvUtil.parseLine(line);
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException(String.format(
+                    "expected %d fields but found %d", header.size(), values.size()));
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String value = values.get(i).trim();
+            fields.put(header.get(i), value.isEmpty() ? null : value);
+        }
+        return objectMapper.convertValue(fields, BookingImportRow.class);
+    }
+
+    /**
+     * Validates a row against the booking form constraints.
+     *
+     * @return a description of the violations, or null if the row is valid
+     */
+    private String validate(BookingImportRow row) {
+        Set<ConstraintViolation<BookingImportRow>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Reports a failed row to the listener and counts it.
+     */
+    private void reportError(
+            Consumer<BookingImportEvent> listener, ImportTotals totals, long line, String code, String message) {
+        totals.failed++;
+        listener.accept(BookingImportEvent.builder()
+                .type(BookingImportEvent.TYPE_ERROR)
+                .line(line)
+                .code(code)
+                .message(message)
+                .build());
+    }
+
+    /**
+     * Normalizes an email for matching users.
+     */
+    private String emailKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Builds the error for a row whose date has been closed.
+     */
+    private RowError dateBlocked(long line) {
+        return new RowError(line, "DATE_BLOCKED", "The selected date is not available for booking");
+    }
+
+    /**
+     * Removes a UTF-8 byte order mark from the first line of a file.
+     */
+    private String stripBom(String line) {
+        return line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+
+    private record PendingRow(long line, BookingImportRow data) {
+    }
+
+    private record RowError(long line, String code, String message) {
+    }
+
+    /**
+     * Running totals for an import.
+     */
+    private static class ImportTotals {
+        private long processed;
+        private long imported;
+        private long failed;
+
+        private BookingImportEvent toEvent(String type) {
+            return BookingImportEvent.builder()
+                    .type(type)
+                    .processed(processed)
+                    .imported(imported)
+                    .failed(failed)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.tilingroofing.service;
+
+/**
+ * Strategy for allocating booking reference numbers.
+ * Implementations must return references that are unique without requiring
+ * a per-booking existence query.
+ */
+public interface BookingRefGenerator {
+
+    /**
+     * Allocates the next booking reference.
+     *
+     * @return A new, unique booking reference
+     */
+    String nextRef();
+
+    /**
+     * Checks whether a reference could have been issued by this system.
+     * Used to reject malformed references without touching the database.
+     *
+     * @param bookingRef The reference to check
+     * @return true if the reference is well-formed
+     */
+    boolean isWellFormed(String bookingRef);
+}
@@ -0,0 +1,142 @@
+package com.tilingroofing.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.tilingroofing.api.dto.response.BookingResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of booking responses, keyed by booking reference and by id.
+ *
+ * Customers poll their booking by reference, so most lookups are answered from memory.
+ * Unknown references are cached too (for a shorter time), so repeated lookups of a missing
+ * booking don't reach the database either. Concurrent misses on one key share a single load.
+ *
+ * Writers invalidate the entries of the bookings they change both immediately and again after
+ * commit, so a load that read the old row before the commit can't leave a stale entry behind.
+ * Cached responses are shared and must not be modified.
+ *
+ * Invalidation only reaches this node's cache. When several instances run, a booking changed
+ * on one of them is served stale by the others until their entries expire, so the TTL is kept
+ * short - it bounds how stale a response can be.
+ */
+@Component
+public class BookingResponseCache {
+
+    private final Cache<String, Optional<BookingResponse>> byRef;
+    private final Cache<Long, Optional<BookingResponse>> byId;
+
+    public BookingResponseCache(
+            @Value("${app.booking-cache.max-entries:10000}") long maxEntries,
+            @Value("${app.booking-cache.ttl-seconds:10}") long ttlSeconds,
+            @Value("${app.booking-cache.negative-ttl-seconds:5}") long negativeTtlSeconds
+    ) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        Duration negativeTtl = Duration.ofSeconds(negativeTtlSeconds);
+        this.byRef = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new FoundOrMissingExpiry<String>(ttl, negativeTtl))
+                .build();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new FoundOrMissingExpiry<Long>(ttl, negativeTtl))
+                .build();
+    }
+
+    /**
+     * Returns the booking with the given reference, loading it on a miss.
+     *
+     * @param loader loads the booking, or returns empty if there is none
+     */
+    public Optional<BookingResponse> getByRef(String bookingRef, Function<String, Optional<BookingResponse>> loader) {
+        return byRef.get(bookingRef, loader);
+    }
+
+    /**
+     * Returns the booking with the given id, loading it on a miss.
+     *
+     * @param loader loads the booking, or returns empty if there is none
+     */
+    public Optional<BookingResponse> getById(Long id, Function<Long, Optional<BookingResponse>> loader) {
+        return byId.get(id, loader);
+    }
+
+    /**
+     * Invalidates a booking's entries now and, inside a transaction, again after it commits.
+     * Either argument may be null.
+     */
+    public void invalidate(Long id, String bookingRef) {
+        evict(id, bookingRef);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(id, bookingRef);
+                }
+            });
+        }
+    }
+
+    /**
+     * Invalidates the entries of several bookings, for callers that only know the ids.
+     * Entries by reference are found by scanning, so this suits rare changes such as file deletions.
+     */
+    public void invalidateIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Runnable evict = () -> {
+            byId.invalidateAll(ids);
+            byRef.asMap().values().removeIf(cached -> cached.isPresent() && ids.contains(cached.get().getId()));
+        };
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    private void evict(Long id, String bookingRef) {
+        if (id != null) {
+            byId.invalidate(id);
+        }
+        if (bookingRef != null) {
+            byRef.invalidate(bookingRef);
+        }
+    }
+
+    /**
+     * Expires found bookings after the TTL and missing ones after the shorter negative TTL.
+     */
+    private record FoundOrMissingExpiry<K>(Duration ttl, Duration negativeTtl)
+            implements Expiry<K, Optional<BookingResponse>> {
+
+        @Override
+        public long expireAfterCreate(K key, Optional<BookingResponse> value, long currentTime) {
+            return (value.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, Optional<BookingResponse> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, Optional<BookingResponse> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
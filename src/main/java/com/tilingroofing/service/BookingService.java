@@ -3,6 +3,7 @@ package com.tilingroofing.service;
 import com.tilingroofing.api.dto.request.CreateBookingRequest;
 import com.tilingroofing.api.dto.request.UpdateBookingRequest;
 import com.tilingroofing.api.dto.response.BookingResponse;
+import com.tilingroofing.api.dto.response.BulkStatusUpdateResponse;
 import com.tilingroofing.api.dto.response.PagedResponse;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -62,6 +63,33 @@ public interface BookingService {
      */
     PagedResponse<BookingResponse> getUserBookings(Long userId, String status, int page, int limit);
 
+    /**
+     * Lists bookings using cursor-based (keyset) pagination.
+     * Avoids OFFSET scans on deep pages and skips the count query unless requested.
+     * 
+     * @param status Optional status filter
+     * @param search Optional search term
+     * @param cursor Cursor returned by the previous page, or null/blank for the first page
+     * @param limit Page size
+     * @param includeTotal Whether to compute the total number of matching bookings
+     * @return PagedResponse with bookings and the cursor for the next page
+     */
+    PagedResponse<BookingResponse> listBookingsByCursor(
+            String status, String search, String cursor, int limit, boolean includeTotal);
+
+    /**
+     * Lists bookings for a specific user using cursor-based (keyset) pagination.
+     * 
+     * @param userId The user ID
+     * @param status Optional status filter
+     * @param cursor Cursor returned by the previous page, or null/blank for the first page
+     * @param limit Page size
+     * @param includeTotal Whether to compute the total number of matching bookings
+     * @return PagedResponse with bookings and the cursor for the next page
+     */
+    PagedResponse<BookingResponse> getUserBookingsByCursor(
+            Long userId, String status, String cursor, int limit, boolean includeTotal);
+
     /**
      * Updates the status of a booking.
      * 
@@ -71,6 +99,17 @@ public interface BookingService {
      */
     BookingResponse updateBookingStatus(Long id, String newStatus);
 
+    /**
+     * Updates the status of several bookings at once.
+     * Each transition is validated individually; invalid or missing bookings are
+     * reported in the results without affecting the others.
+     * 
+     * @param ids The booking IDs
+     * @param newStatus The new status
+     * @return BulkStatusUpdateResponse with one result per booking ID
+     */
+    BulkStatusUpdateResponse updateBookingStatuses(List<Long> ids, String newStatus);
+
     /**
      * Updates a booking with the provided fields.
      * 
@@ -87,4 +126,20 @@ public interface BookingService {
      * @param id The booking ID
      */
     void deleteBooking(Long id);
+
+    /**
+     * Returns the entity tag of the booking list, for conditional requests.
+     * 
+     * @return Strong entity tag
+     */
+    String getBookingsEtag();
+
+    /**
+     * Returns the entity tag of a user's bookings, for conditional requests.
+     * Derived from the version of all bookings, so it also changes with other users' bookings.
+     * 
+     * @param userId The user ID
+     * @return Strong entity tag
+     */
+    String getUserBookingsEtag(Long userId);
 }
@@ -3,37 +3,54 @@ package com.tilingroofing.service;
 import com.tilingroofing.api.dto.request.CreateBookingRequest;
 import com.tilingroofing.api.dto.request.UpdateBookingRequest;
 import com.tilingroofing.api.dto.response.BookingResponse;
+import com.tilingroofing.api.dto.response.BulkStatusUpdateResponse;
+import com.tilingroofing.api.dto.response.FileResponse;
 import com.tilingroofing.api.dto.response.PagedResponse;
 import com.tilingroofing.api.mapper.BookingMapper;
 import com.tilingroofing.common.exception.BusinessException;
 import com.tilingroofing.common.exception.ResourceNotFoundException;
-import com.tilingroofing.domain.entity.BlockedDate;
+import com.tilingroofing.config.ReplicaRouting;
 import com.tilingroofing.domain.entity.Booking;
 import com.tilingroofing.domain.entity.BookingFile;
 import com.tilingroofing.domain.entity.User;
 import com.tilingroofing.domain.enums.BookingStatus;
 import com.tilingroofing.domain.enums.JobSize;
 import com.tilingroofing.domain.enums.TimeSlot;
-import com.tilingroofing.domain.repository.BlockedDateRepository;
+import com.tilingroofing.domain.projection.BookingFileView;
+import com.tilingroofing.domain.projection.BookingListView;
+import com.tilingroofing.domain.projection.BookingStatusView;
+import com.tilingroofing.domain.repository.BookingFileRepository;
 import com.tilingroofing.domain.repository.BookingRepository;
 import com.tilingroofing.domain.repository.UserRepository;
+import com.tilingroofing.service.DataVersions.DataSet;
+import com.tilingroofing.util.FullTextQuery;
+import com.tilingroofing.util.KeysetCursor;
+import com.tilingroofing.util.PhoneNumberUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionSynchronization;
-import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of BookingService.
@@ -43,167 +60,159 @@ import java.util.Random;
 public class BookingServiceImpl implements BookingService {
 
     private static final Logger log = LoggerFactory.getLogger(BookingServiceImpl.class);
-    private static final Random RANDOM = new Random();
 
     private final BookingRepository bookingRepository;
-    private final BlockedDateRepository blockedDateRepository;
+    private final BookingFileRepository bookingFileRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final SlotScheduler slotScheduler;
     private final UserRepository userRepository;
     private final BookingMapper bookingMapper;
     private final FileStorageService fileStorageService;
-    private final EmailService emailService;
-    private final NotificationService notificationService;
-    private final String bookingRefPrefix;
+    private final OutboxPublisher outboxPublisher;
+    private final BookingRefGenerator bookingRefGenerator;
+    private final BookingResponseCache bookingResponseCache;
+    private final DataVersions dataVersions;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
 
     public BookingServiceImpl(
             BookingRepository bookingRepository,
-            BlockedDateRepository blockedDateRepository,
+            BookingFileRepository bookingFileRepository,
+            AvailabilityIndex availabilityIndex,
+            SlotScheduler slotScheduler,
             UserRepository userRepository,
             BookingMapper bookingMapper,
             FileStorageService fileStorageService,
-            EmailService emailService,
-            @Lazy NotificationService notificationService,
-            @Value("${app.booking.ref-prefix:TR}") String bookingRefPrefix
+            OutboxPublisher outboxPublisher,
+            BookingRefGenerator bookingRefGenerator,
+            BookingResponseCache bookingResponseCache,
+            DataVersions dataVersions,
+            PlatformTransactionManager transactionManager
     ) {
         this.bookingRepository = bookingRepository;
-        this.blockedDateRepository = blockedDateRepository;
+        this.bookingFileRepository = bookingFileRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.slotScheduler = slotScheduler;
         this.userRepository = userRepository;
         this.bookingMapper = bookingMapper;
         this.fileStorageService = fileStorageService;
-        this.emailService = emailService;
-        this.notificationService = notificationService;
-        this.bookingRefPrefix = bookingRefPrefix;
+        this.outboxPublisher = outboxPublisher;
+        this.bookingRefGenerator = bookingRefGenerator;
+        this.bookingResponseCache = bookingResponseCache;
+        this.dataVersions = dataVersions;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
     }
 
     @Override
-    @Transactional
     public BookingResponse createBooking(CreateBookingRequest request, List<MultipartFile> files, Long userId) {
-        // Validate date is not blocked
+        // Validate no day of the job is blocked
         LocalDate preferredDate = LocalDate.parse(request.getDate());
-        validateDateNotBlocked(preferredDate);
+        JobSize jobSize = JobSize.fromValue(request.getJobSize());
+        validateDatesNotBlocked(preferredDate, jobSize);
+
+        // Allocate unique booking reference (from memory, no existence query)
+        String bookingRef = bookingRefGenerator.nextRef();
+
+        // Stage 1: store files before opening a transaction, so slow uploads never hold a pooled connection
+        List<BookingFile> storedFiles = fileStorageService.storeFiles(files, bookingRef);
+
+        // Stage 2: one short transaction for the booking, its file rows and its slot reservation
+        try {
+            return writeTransaction.execute(status ->
+                    saveNewBooking(request, userId, bookingRef, preferredDate, jobSize, storedFiles));
+        } catch (RuntimeException e) {
+            // Compensate: the booking rolled back, so nothing references the stored files
+            fileStorageService.discardFiles(storedFiles);
+            throw e;
+        }
+    }
 
+    /**
+     * Saves a new booking with its already-stored files and reserves its slot capacity.
+     * Runs inside the booking transaction; notifications and emails are sent after commit.
+     */
+    private BookingResponse saveNewBooking(
+            CreateBookingRequest request,
+            Long userId,
+            String bookingRef,
+            LocalDate preferredDate,
+            JobSize jobSize,
+            List<BookingFile> storedFiles
+    ) {
         // Fetch user
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
-        // Generate unique booking reference
-        String bookingRef = generateUniqueBookingRef();
-
         // Create booking entity
         Booking booking = Booking.builder()
                 .bookingRef(bookingRef)
                 .status(BookingStatus.PENDING)
                 .serviceId(request.getServiceId())
-                .jobSize(JobSize.fromValue(request.getJobSize()))
+                .jobSize(jobSize)
                 .suburb(request.getSuburb())
                 .postcode(request.getPostcode())
                 .description(request.getDescription())
                 .preferredDate(preferredDate)
                 .timeSlot(TimeSlot.fromValue(request.getTimeSlot()))
                 .user(user)
-                .customerPhone(normalizePhone(request.getPhone()))
+                .customerPhone(PhoneNumberUtil.normalize(request.getPhone()))
                 .build();
 
-        // Handle file uploads
-        if (files != null && !files.isEmpty()) {
-            for (MultipartFile file : files) {
-                if (!file.isEmpty()) {
-                    BookingFile bookingFile = fileStorageService.storeFile(file, bookingRef);
-                    booking.addFile(bookingFile);
-                }
-            }
-        }
+        // Attach the files stored before the transaction
+        storedFiles.forEach(booking::addFile);
 
         // Save booking
         booking = bookingRepository.save(booking);
+        bookingRepository.refreshSearchText(booking.getId());
+        bookingResponseCache.invalidate(booking.getId(), bookingRef);
+        dataVersions.changed(DataSet.BOOKINGS);
         log.info("Created booking: {}", bookingRef);
 
-        // Block the booking date to prevent double bookings
-        blockBookingDate(preferredDate, booking);
+        // Reserve slot capacity - fails with SLOT_UNAVAILABLE if the slot filled up meanwhile
+        slotScheduler.reserve(booking);
 
-        // Prepare data for post-transaction operations
-        final Booking savedBooking = booking;
+        // Notification and emails go through the outbox, committed together with the booking
         final String customerName = user.getName() != null ? user.getName() : user.getEmail();
         final String notificationMessage = String.format("You have a new booking: %s - %s, %s", 
                 bookingRef, customerName, preferredDate);
-
-        // Schedule non-critical operations to run after transaction commits
-        // This prevents blocking the HTTP response and improves performance
-        TransactionSynchronizationManager.registerSynchronization(
-                new TransactionSynchronization() {
-                    @Override
-                    public void afterCommit() {
-                        try {
-                            log.debug("Starting post-transaction operations for booking: {}", bookingRef);
-                            
-                            // Create notification (idempotent - won't fail if already exists)
-                            try {
-                                notificationService.createNotification(savedBooking.getId(), notificationMessage);
-                                log.info("Successfully created notification for booking: {}", bookingRef);
-                            } catch (IllegalStateException e) {
-                                // Notification already exists - this is okay, just log it
-                                log.warn("Notification already exists for booking {}: {}", bookingRef, e.getMessage());
-                            } catch (Exception e) {
-                                // Log notification creation failure but continue with other operations
-                                log.error("Failed to create notification for booking {}: {}", 
-                                        bookingRef, e.getMessage(), e);
-                            }
-                            
-                            // Send email notifications (already async, but now outside transaction)
-                            try {
-                                emailService.sendCustomerConfirmation(savedBooking);
-                                log.debug("Sent customer confirmation email for booking: {}", bookingRef);
-                            } catch (Exception e) {
-                                log.error("Failed to send customer confirmation email for booking {}: {}", 
-                                        bookingRef, e.getMessage(), e);
-                            }
-                            
-                            try {
-                                emailService.sendAdminNotification(savedBooking);
-                                log.debug("Sent admin notification email for booking: {}", bookingRef);
-                            } catch (Exception e) {
-                                log.error("Failed to send admin notification email for booking {}: {}", 
-                                        bookingRef, e.getMessage(), e);
-                            }
-                            
-                            log.info("Post-transaction operations completed for booking: {}", bookingRef);
-                        } catch (Exception e) {
-                            // Catch-all for any unexpected errors
-                            log.error("Unexpected error in post-transaction operations for booking {}: {}", 
-                                    bookingRef, e.getMessage(), e);
-                        }
-                    }
-                }
-        );
+        outboxPublisher.bookingCreated(booking, notificationMessage);
 
         return bookingMapper.toBookingResponse(booking);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public BookingResponse getBookingByRef(String bookingRef) {
-        Booking booking = bookingRepository.findByBookingRef(bookingRef)
-                .orElseThrow(() -> new ResourceNotFoundException("Booking", "bookingRef", bookingRef));
-
-        // Initialize files collection to avoid lazy loading issues
-        if (booking.getFiles() != null) {
-            booking.getFiles().size(); // Trigger lazy loading
+        // Reject malformed references without touching the database
+        if (!bookingRefGenerator.isWellFormed(bookingRef)) {
+            throw new ResourceNotFoundException("Booking", "bookingRef", bookingRef);
         }
 
-        return bookingMapper.toBookingResponse(booking);
+        // Served from the response cache; only a miss opens a transaction
+        return bookingResponseCache.getByRef(bookingRef, ref -> loadBooking(() -> bookingRepository.findByBookingRef(ref)))
+                .orElseThrow(() -> new ResourceNotFoundException("Booking", "bookingRef", bookingRef));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public BookingResponse getBookingById(Long id) {
-        Booking booking = bookingRepository.findById(id)
+        return bookingResponseCache.getById(id, bookingId -> loadBooking(() -> bookingRepository.findById(bookingId)))
                 .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", id));
+    }
 
-        // Initialize files collection to avoid lazy loading issues
-        if (booking.getFiles() != null) {
-            booking.getFiles().size(); // Trigger lazy loading
-        }
-
-        return bookingMapper.toBookingResponse(booking);
+    /**
+     * Loads and maps a booking for the response cache, in a short read-only transaction.
+     * Reads from the primary, so a load right after a write never caches a lagging replica's copy.
+     */
+    private Optional<BookingResponse> loadBooking(Supplier<Optional<Booking>> finder) {
+        return ReplicaRouting.onPrimary(() -> readTransaction.execute(status -> finder.get()
+                .map(booking -> {
+                    // Initialize files collection to avoid lazy loading issues
+                    if (booking.getFiles() != null) {
+                        booking.getFiles().size(); // Trigger lazy loading
+                    }
+                    return bookingMapper.toBookingResponse(booking);
+                })));
     }
 
     @Override
@@ -211,28 +220,20 @@ public class BookingServiceImpl implements BookingService {
     public PagedResponse<BookingResponse> listBookings(String status, String search, int page, int limit) {
         Pageable pageable = PageRequest.of(page, limit);
 
-        BookingStatus bookingStatus = null;
-        if (status != null && !status.isBlank()) {
-            try {
-                bookingStatus = BookingStatus.fromValue(status);
-            } catch (IllegalArgumentException e) {
-                throw new BusinessException("INVALID_STATUS", "Invalid booking status: " + status);
-            }
+        BookingStatus bookingStatus = parseStatusFilter(status);
+        String fullTextQuery = FullTextQuery.toBooleanMode(search);
+
+        Page<BookingListView> bookingPage;
+        if (fullTextQuery != null) {
+            // Ranked full-text search, then load the page of bookings by ID
+            Page<Long> idPage = bookingRepository.searchBookingIdsByRelevance(
+                    statusName(bookingStatus), fullTextQuery, pageable);
+            bookingPage = new PageImpl<>(loadInOrder(idPage.getContent()), pageable, idPage.getTotalElements());
+        } else {
+            bookingPage = bookingRepository.searchBookings(bookingStatus, search, pageable);
         }
 
-        Page<Booking> bookingPage = bookingRepository.searchBookings(bookingStatus, search, pageable);
-        List<Booking> bookings = bookingPage.getContent();
-        
-        // Initialize files collection for each booking to avoid lazy loading issues
-        bookings.forEach(booking -> {
-            if (booking.getFiles() != null) {
-                booking.getFiles().size(); // Trigger lazy loading
-            }
-        });
-        
-        List<BookingResponse> responses = bookingMapper.toBookingResponseList(bookings);
-
-        return PagedResponse.from(bookingPage, responses);
+        return PagedResponse.from(bookingPage, toBookingResponses(bookingPage.getContent()));
     }
 
     @Override
@@ -240,28 +241,124 @@ public class BookingServiceImpl implements BookingService {
     public PagedResponse<BookingResponse> getUserBookings(Long userId, String status, int page, int limit) {
         Pageable pageable = PageRequest.of(page, limit);
 
-        BookingStatus bookingStatus = null;
-        if (status != null && !status.isBlank()) {
-            try {
-                bookingStatus = BookingStatus.fromValue(status);
-            } catch (IllegalArgumentException e) {
-                throw new BusinessException("INVALID_STATUS", "Invalid booking status: " + status);
+        BookingStatus bookingStatus = parseStatusFilter(status);
+
+        Page<BookingListView> bookingPage = bookingRepository.findByUserId(userId, bookingStatus, pageable);
+
+        return PagedResponse.from(bookingPage, toBookingResponses(bookingPage.getContent()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<BookingResponse> listBookingsByCursor(
+            String status, String search, String cursor, int limit, boolean includeTotal) {
+        BookingStatus bookingStatus = parseStatusFilter(status);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        String fullTextQuery = FullTextQuery.toBooleanMode(search);
+
+        // Fetch one extra row to find out whether there is a next page
+        List<BookingListView> bookings;
+        Long total = null;
+        if (fullTextQuery != null) {
+            List<Long> ids = bookingRepository.searchBookingIdsAfter(
+                    statusName(bookingStatus), fullTextQuery,
+                    after != null ? after.createdAt() : null,
+                    after != null ? after.id() : null,
+                    limit + 1);
+            bookings = loadInOrder(ids);
+            if (includeTotal) {
+                total = bookingRepository.countBookingsMatching(statusName(bookingStatus), fullTextQuery);
+            }
+        } else {
+            bookings = bookingRepository.searchBookingsAfter(
+                    bookingStatus, search,
+                    after != null ? after.createdAt() : null,
+                    after != null ? after.id() : null,
+                    PageRequest.of(0, limit + 1));
+            if (includeTotal) {
+                total = bookingRepository.countBookings(bookingStatus, search);
             }
         }
 
-        Page<Booking> bookingPage = bookingRepository.findByUserId(userId, bookingStatus, pageable);
-        List<Booking> bookings = bookingPage.getContent();
-        
-        // Initialize files collection for each booking to avoid lazy loading issues
-        bookings.forEach(booking -> {
-            if (booking.getFiles() != null) {
-                booking.getFiles().size(); // Trigger lazy loading
-            }
-        });
-        
-        List<BookingResponse> responses = bookingMapper.toBookingResponseList(bookings);
+        return toCursorPage(bookings, limit, after == null, total);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PagedResponse<BookingResponse> getUserBookingsByCursor(
+            Long userId, String status, String cursor, int limit, boolean includeTotal) {
+        BookingStatus bookingStatus = parseStatusFilter(status);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        // Fetch one extra row to find out whether there is a next page
+        List<BookingListView> bookings = bookingRepository.findByUserIdAfter(
+                userId, bookingStatus,
+                after != null ? after.createdAt() : null,
+                after != null ? after.id() : null,
+                PageRequest.of(0, limit + 1));
+        Long total = includeTotal ? bookingRepository.countByUserId(userId, bookingStatus) : null;
+
+        return toCursorPage(bookings, limit, after == null, total);
+    }
+
+    /**
+     * Loads booking list views by ID, preserving the order of the given IDs.
+     */
+    private List<BookingListView> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BookingListView> byId = bookingRepository.findViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(BookingListView::id, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Returns the stored name of a status for native queries, or null for no filter.
+     */
+    private String statusName(BookingStatus status) {
+        return status != null ? status.name() : null;
+    }
 
-        return PagedResponse.from(bookingPage, responses);
+    /**
+     * Builds a cursor page from a keyset query result fetched with limit + 1 rows.
+     */
+    private PagedResponse<BookingResponse> toCursorPage(
+            List<BookingListView> rows, int limit, boolean first, Long total) {
+        boolean hasMore = rows.size() > limit;
+        List<BookingListView> bookings = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            BookingListView lastRow = bookings.get(bookings.size() - 1);
+            nextCursor = new KeysetCursor(lastRow.createdAt(), lastRow.id()).encode();
+        }
+
+        return PagedResponse.fromCursor(toBookingResponses(bookings), limit, first, nextCursor, total);
+    }
+
+    /**
+     * Builds responses for a page of booking list views.
+     * The files of all bookings on the page are loaded with a single IN query.
+     */
+    private List<BookingResponse> toBookingResponses(List<BookingListView> bookings) {
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> bookingIds = bookings.stream().map(BookingListView::id).toList();
+        Map<Long, List<FileResponse>> filesByBooking = bookingFileRepository.findViewsByBookingIdIn(bookingIds)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        BookingFileView::bookingId,
+                        Collectors.mapping(bookingMapper::toFileResponse, Collectors.toList())));
+
+        return bookings.stream()
+                .map(view -> bookingMapper.toBookingResponse(view, filesByBooking.getOrDefault(view.id(), List.of())))
+                .toList();
     }
 
     @Override
@@ -278,24 +375,159 @@ public class BookingServiceImpl implements BookingService {
 
         booking.setStatus(status);
         booking = bookingRepository.save(booking);
+        bookingResponseCache.invalidate(booking.getId(), booking.getBookingRef());
+        dataVersions.changed(DataSet.BOOKINGS);
+
+        // A cancelled booking gives its slot capacity back
+        if (status == BookingStatus.CANCELLED) {
+            slotScheduler.release(booking.getId());
+        }
 
         log.info("Updated booking {} status from {} to {}", 
                 booking.getBookingRef(), oldStatus, status);
 
-        // Send status update email
-        emailService.sendStatusUpdateEmail(booking);
+        // Send status update email once the update is committed
+        outboxPublisher.statusChanged(List.of(booking), status);
 
         return bookingMapper.toBookingResponse(booking);
     }
 
     @Override
     @Transactional
+    public BulkStatusUpdateResponse updateBookingStatuses(List<Long> ids, String newStatus) {
+        BookingStatus status = BookingStatus.fromValue(newStatus);
+        List<Long> requestedIds = new ArrayList<>(new LinkedHashSet<>(ids));
+
+        Map<Long, BookingStatusView> current = bookingRepository.findStatusesByIdIn(requestedIds).stream()
+                .collect(Collectors.toMap(BookingStatusView::id, Function.identity()));
+
+        // Validate each transition and group the valid ones by their current status
+        Map<Long, BulkStatusUpdateResponse.Result> results = new HashMap<>();
+        Map<BookingStatus, List<Long>> idsByFromStatus = new EnumMap<>(BookingStatus.class);
+        for (Long id : requestedIds) {
+            BookingStatusView view = current.get(id);
+            if (view == null) {
+                results.put(id, failure(id, null, null, "NOT_FOUND", "Booking not found"));
+                continue;
+            }
+            try {
+                validateStatusTransition(view.status(), status);
+                idsByFromStatus.computeIfAbsent(view.status(), s -> new ArrayList<>()).add(id);
+            } catch (BusinessException e) {
+                results.put(id, failure(id, view.bookingRef(), view.status(), e.getCode(), e.getMessage()));
+            }
+        }
+
+        // One compare-and-set UPDATE per source status
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> updatedIds = new ArrayList<>();
+        for (Map.Entry<BookingStatus, List<Long>> group : idsByFromStatus.entrySet()) {
+            BookingStatus from = group.getKey();
+            List<Long> groupIds = group.getValue();
+            int updated = bookingRepository.updateStatusWhereStatus(groupIds, from, status, now);
+
+            List<Long> succeeded = groupIds;
+            if (updated != groupIds.size()) {
+                // Some rows changed concurrently - re-read to find out which ones were applied
+                Map<Long, BookingStatusView> after = bookingRepository.findStatusesByIdIn(groupIds).stream()
+                        .collect(Collectors.toMap(BookingStatusView::id, Function.identity()));
+                succeeded = groupIds.stream()
+                        .filter(id -> after.containsKey(id) && after.get(id).status() == status)
+                        .toList();
+                for (Long id : groupIds) {
+                    if (!succeeded.contains(id)) {
+                        results.put(id, failure(id, current.get(id).bookingRef(), from,
+                                "CONCURRENT_MODIFICATION", "Booking was modified by another request"));
+                    }
+                }
+            }
+
+            for (Long id : succeeded) {
+                bookingResponseCache.invalidate(id, current.get(id).bookingRef());
+                results.put(id, BulkStatusUpdateResponse.Result.builder()
+                        .id(id)
+                        .bookingRef(current.get(id).bookingRef())
+                        .success(true)
+                        .previousStatus(from.getValue())
+                        .build());
+            }
+            updatedIds.addAll(succeeded);
+        }
+
+        if (!updatedIds.isEmpty()) {
+            dataVersions.changed(DataSet.BOOKINGS);
+        }
+        log.info("Bulk status update to {}: {} of {} booking(s) updated",
+                status, updatedIds.size(), requestedIds.size());
+
+        if (status == BookingStatus.CANCELLED) {
+            slotScheduler.releaseAll(updatedIds);
+        }
+
+        // Send status emails once the updates are committed
+        if (!updatedIds.isEmpty()) {
+            outboxPublisher.statusChanged(bookingRepository.findAllWithUserByIdIn(updatedIds), status);
+        }
+
+        List<BulkStatusUpdateResponse.Result> orderedResults = requestedIds.stream()
+                .map(results::get)
+                .toList();
+        return BulkStatusUpdateResponse.builder()
+                .status(status.getValue())
+                .updated(updatedIds.size())
+                .failed(orderedResults.size() - updatedIds.size())
+                .results(orderedResults)
+                .build();
+    }
+
+    /**
+     * Builds a failed result for a bulk status update.
+     */
+    private BulkStatusUpdateResponse.Result failure(
+            Long id, String bookingRef, BookingStatus previousStatus, String errorCode, String message) {
+        return BulkStatusUpdateResponse.Result.builder()
+                .id(id)
+                .bookingRef(bookingRef)
+                .success(false)
+                .previousStatus(previousStatus != null ? previousStatus.getValue() : null)
+                .errorCode(errorCode)
+                .message(message)
+                .build();
+    }
+
+    @Override
     public BookingResponse updateBooking(Long id, UpdateBookingRequest request, List<MultipartFile> files) {
+        // Stage 1: store new files before opening a transaction, so slow uploads never hold a pooled connection
+        List<BookingFile> storedFiles = List.of();
+        if (files != null && files.stream().anyMatch(file -> !file.isEmpty())) {
+            String bookingRef = bookingRepository.findBookingRefById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", id));
+            storedFiles = fileStorageService.storeFiles(files, bookingRef);
+        }
+
+        // Stage 2: one short transaction for the field changes, rescheduling and new file rows
+        List<BookingFile> newFiles = storedFiles;
+        try {
+            return writeTransaction.execute(status -> applyBookingUpdate(id, request, newFiles));
+        } catch (RuntimeException e) {
+            // Compensate: the update rolled back, so nothing references the new files
+            fileStorageService.discardFiles(newFiles);
+            throw e;
+        }
+    }
+
+    /**
+     * Applies a partial update to a booking and attaches its already-stored new files.
+     * Runs inside the booking transaction.
+     */
+    private BookingResponse applyBookingUpdate(Long id, UpdateBookingRequest request, List<BookingFile> newFiles) {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", id));
 
-        // Store original date for comparison
+        // Store the scheduling fields for comparison
         LocalDate originalDate = booking.getPreferredDate();
+        JobSize originalJobSize = booking.getJobSize();
+        TimeSlot originalTimeSlot = booking.getTimeSlot();
 
         // Update fields only if provided (partial update)
         if (request.getServiceId() != null) {
@@ -316,170 +548,88 @@ public class BookingServiceImpl implements BookingService {
         if (request.getDate() != null) {
             LocalDate newPreferredDate = LocalDate.parse(request.getDate());
             
-            // Only validate and update blocked dates if the date is actually changing
             if (!newPreferredDate.equals(originalDate)) {
-                // Validate new date is not blocked (excluding this booking's own blocked date)
-                validateDateNotBlockedForUpdate(newPreferredDate, booking.getId());
-                
-                // Unblock the old date if it was blocked by this booking
-                unblockBookingDate(originalDate, booking.getId());
-                
-                // Update the booking date
                 booking.setPreferredDate(newPreferredDate);
-                
-                // Block the new date for this booking
-                blockBookingDate(newPreferredDate, booking);
             }
-            // If date is not changing, no validation or date blocking/unblocking needed
         }
         if (request.getTimeSlot() != null) {
             booking.setTimeSlot(TimeSlot.fromValue(request.getTimeSlot()));
         }
+
+        // Move the reserved span if the date, slot or job size changed.
+        // Releasing first lets a booking stay in a full slot it already occupies;
+        // if the new span has no room the whole update rolls back.
+        boolean spanChanged = !booking.getPreferredDate().equals(originalDate)
+                || booking.getJobSize() != originalJobSize;
+        if (spanChanged) {
+            validateDatesNotBlocked(booking.getPreferredDate(), booking.getJobSize());
+        }
+        boolean rescheduled = spanChanged || booking.getTimeSlot() != originalTimeSlot;
+        if (rescheduled && booking.getStatus() != BookingStatus.CANCELLED) {
+            slotScheduler.release(booking.getId());
+            slotScheduler.reserve(booking);
+        }
         if (request.getPhone() != null) {
-            booking.setCustomerPhone(normalizePhone(request.getPhone()));
+            booking.setCustomerPhone(PhoneNumberUtil.normalize(request.getPhone()));
         }
 
-        // Handle file uploads - add new files to existing booking
-        if (files != null && !files.isEmpty()) {
-            String bookingRef = booking.getBookingRef();
-            int addedCount = 0;
-            for (MultipartFile file : files) {
-                if (!file.isEmpty()) {
-                    BookingFile bookingFile = fileStorageService.storeFile(file, bookingRef);
-                    booking.addFile(bookingFile);
-                    addedCount++;
-                    log.debug("Added file {} to booking {}", file.getOriginalFilename(), bookingRef);
-                }
-            }
-            if (addedCount > 0) {
-                log.info("Added {} file(s) to booking {}", addedCount, bookingRef);
-            }
+        // Attach the new files stored before the transaction.
+        // Touching updatedAt marks the booking modified even when only files were added.
+        if (!newFiles.isEmpty()) {
+            newFiles.forEach(booking::addFile);
+            booking.setUpdatedAt(LocalDateTime.now());
+            log.info("Added {} file(s) to booking {}", newFiles.size(), booking.getBookingRef());
         }
 
         booking = bookingRepository.save(booking);
+        bookingRepository.refreshSearchText(booking.getId());
+        bookingResponseCache.invalidate(booking.getId(), booking.getBookingRef());
+        dataVersions.changed(DataSet.BOOKINGS);
         log.info("Updated booking: {}", booking.getBookingRef());
 
         return bookingMapper.toBookingResponse(booking);
     }
 
-    /**
-     * Validates that the date is not blocked.
-     */
-    private void validateDateNotBlocked(LocalDate date) {
-        if (blockedDateRepository.existsByDate(date)) {
-            throw new BusinessException("DATE_BLOCKED", 
-                    "The selected date is not available for booking");
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public String getBookingsEtag() {
+        return DataVersions.etag(dataVersions.tag(DataSet.BOOKINGS));
     }
 
-    /**
-     * Validates that the date is not blocked, excluding the blocked date
-     * associated with the current booking (if any).
-     * Used when updating a booking to allow keeping the same date or changing
-     * to a date that's only blocked by the current booking itself.
-     */
-    private void validateDateNotBlockedForUpdate(LocalDate date, Long currentBookingId) {
-        Optional<BlockedDate> existingBlockedDate = blockedDateRepository.findByDate(date);
-        
-        if (existingBlockedDate.isPresent()) {
-            BlockedDate blockedDate = existingBlockedDate.get();
-            // Allow if the blocked date is linked to the current booking
-            if (blockedDate.getBooking() != null && 
-                blockedDate.getBooking().getId().equals(currentBookingId)) {
-                return; // Date is blocked by this booking itself, which is allowed
-            }
-            // Date is blocked by another booking or manually blocked
-            throw new BusinessException("DATE_BLOCKED", 
-                    "The selected date is not available for booking");
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public String getUserBookingsEtag(Long userId) {
+        return DataVersions.etag(
+                dataVersions.tag(DataSet.BOOKINGS),
+                "user-" + userId);
     }
 
     /**
-     * Blocks a date when a booking is created or updated.
-     * Links the blocked date to the booking for traceability.
-     * If the date is already blocked, this method does nothing (idempotent).
-     * 
-     * @param date The date to block
-     * @param booking The booking entity to link
+     * Parses an optional status filter.
+     * Returns null when no filter is given.
      */
-    private void blockBookingDate(LocalDate date, Booking booking) {
-        // Check if date is already blocked
-        if (blockedDateRepository.existsByDate(date)) {
-            log.debug("Date {} is already blocked, skipping", date);
-            return;
+    private BookingStatus parseStatusFilter(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
         }
-
-        // Create blocked date entry linked to the booking
-        BlockedDate blockedDate = BlockedDate.builder()
-                .date(date)
-                .reason(String.format("Booking created: %s", booking.getBookingRef()))
-                .booking(booking)
-                .build();
-
-        blockedDateRepository.save(blockedDate);
-        log.info("Blocked date {} for booking {}", date, booking.getBookingRef());
-    }
-
-    /**
-     * Unblocks a date that was blocked by a specific booking.
-     * Only removes the blocked date if it's linked to the specified booking.
-     * 
-     * @param date The date to unblock
-     * @param bookingId The ID of the booking that blocked the date
-     */
-    private void unblockBookingDate(LocalDate date, Long bookingId) {
-        Optional<BlockedDate> blockedDateOpt = blockedDateRepository.findByDate(date);
-        
-        if (blockedDateOpt.isPresent()) {
-            BlockedDate blockedDate = blockedDateOpt.get();
-            // Only unblock if it's linked to this booking
-            if (blockedDate.getBooking() != null && 
-                blockedDate.getBooking().getId().equals(bookingId)) {
-                blockedDateRepository.delete(blockedDate);
-                log.info("Unblocked date {} for booking {}", date, bookingId);
-            } else {
-                log.debug("Date {} is blocked by another booking or manually, not unblocking", date);
-            }
+        try {
+            return BookingStatus.fromValue(status);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("INVALID_STATUS", "Invalid booking status: " + status);
         }
     }
 
     /**
-     * Generates a unique booking reference in format TR-XXXXX.
-     */
-    private String generateUniqueBookingRef() {
-        String bookingRef;
-        int attempts = 0;
-        do {
-            int randomNumber = 10000 + RANDOM.nextInt(90000);
-            bookingRef = bookingRefPrefix + "-" + randomNumber;
-            attempts++;
-            if (attempts > 100) {
-                throw new BusinessException("REFERENCE_GENERATION_FAILED", 
-                        "Failed to generate unique booking reference");
-            }
-        } while (bookingRepository.existsByBookingRef(bookingRef));
-
-        return bookingRef;
-    }
-
-    /**
-     * Normalizes phone number to consistent format.
+     * Validates that no day a job occupies, starting on the given date, is blocked.
+     * Answered by the in-memory availability index with one range lookup.
      */
-    private String normalizePhone(String phone) {
-        // Remove all non-digit characters
-        String digits = phone.replaceAll("[^0-9]", "");
-        
-        // If starts with 61, add + prefix
-        if (digits.startsWith("61") && digits.length() == 11) {
-            return "+61" + digits.substring(2);
-        }
-        
-        // If starts with 0, convert to +61 format
-        if (digits.startsWith("0") && digits.length() == 10) {
-            return "+61" + digits.substring(1);
+    private void validateDatesNotBlocked(LocalDate start, JobSize jobSize) {
+        LocalDate end = slotScheduler.endDateOf(start, jobSize);
+        if (!availabilityIndex.blockedBetween(start, end).isEmpty()) {
+            throw new BusinessException("DATE_BLOCKED", start.equals(end)
+                    ? "The selected date is not available for booking"
+                    : String.format("The job needs every day from %s to %s, and some are not available", start, end));
         }
-        
-        return phone;
     }
 
     /**
@@ -514,14 +664,19 @@ public class BookingServiceImpl implements BookingService {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", id));
 
-        // Unblock the date if it was blocked by this booking
-        unblockBookingDate(booking.getPreferredDate(), booking.getId());
+        // Give back the slot capacity held by this booking
+        slotScheduler.release(booking.getId());
 
         // Delete associated files
         fileStorageService.deleteBookingFiles(booking.getBookingRef());
 
         // Delete the booking
         bookingRepository.delete(booking);
+        bookingResponseCache.invalidate(booking.getId(), booking.getBookingRef());
+        // The booking's notification and rating are deleted with it (ON DELETE CASCADE)
+        dataVersions.changed(DataSet.BOOKINGS);
+        dataVersions.changed(DataSet.NOTIFICATIONS);
+        dataVersions.changed(DataSet.RATINGS);
         log.info("Deleted booking: {}", booking.getBookingRef());
     }
 }
@@ -0,0 +1,79 @@
+package com.tilingroofing.service;
+
+import com.tilingroofing.domain.repository.DataSetVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds entity tags for conditional GETs on collections.
+ *
+ * Every data set has a version row in the database that is bumped by each transaction
+ * changing the data set, just before it commits. The bump commits or rolls back with the
+ * change itself, so every instance reads the same version, and reading it is a primary key
+ * lookup rather than an aggregate over the data set.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataVersions {
+
+    /**
+     * Data sets that have their own validators.
+     */
+    public enum DataSet {
+        BOOKINGS, NOTIFICATIONS, BLOCKED_DATES, RATINGS
+    }
+
+    private final DataSetVersionRepository dataSetVersionRepository;
+
+    /**
+     * Records a change to a data set. Within a transaction the version is bumped just before
+     * it commits, once per data set however many changes were made; outside one right away.
+     */
+    public void changed(DataSet set) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            dataSetVersionRepository.increment(List.of(set.name()));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<DataSet> pending = (Set<DataSet>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<DataSet> changed = EnumSet.noneOf(DataSet.class);
+            TransactionSynchronizationManager.bindResource(this, changed);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    dataSetVersionRepository.increment(changed.stream().map(DataSet::name).toList());
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DataVersions.this);
+                }
+            });
+            pending = changed;
+        }
+        pending.add(set);
+    }
+
+    /**
+     * Builds the validator part for one data set, e.g. "bookings.42".
+     */
+    public String tag(DataSet set) {
+        return set.name().toLowerCase() + '.' + dataSetVersionRepository.findVersion(set.name()).orElse(0L);
+    }
+
+    /**
+     * Joins validator parts into a strong entity tag.
+     */
+    public static String etag(String... tags) {
+        return '"' + String.join("~", tags) + '"';
+    }
+}
@@ -1,31 +1,44 @@
 package com.tilingroofing.service;
 
-import com.tilingroofing.domain.entity.Booking;
+import com.tilingroofing.common.exception.EmailDeliveryException;
+import com.tilingroofing.domain.projection.BookingSnapshot;
+
+import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for sending email notifications.
  * Defines the contract for email operations.
+ * 
+ * Emails are sent synchronously; callers deliver them through the outbox, which retries
+ * failed sends. Emails are rendered from booking snapshots and never read the database.
  */
 public interface EmailService {
 
     /**
-     * Sends a booking confirmation email to the customer.
-     * 
-     * @param booking The booking to send confirmation for
+     * The emails sent for bookings.
      */
-    void sendCustomerConfirmation(Booking booking);
+    enum EmailKind {
+        /** Booking confirmation to the customer */
+        CUSTOMER_CONFIRMATION,
+        /** New booking notification to the admin */
+        ADMIN_NOTIFICATION,
+        /** Status update to the customer */
+        STATUS_UPDATE
+    }
 
     /**
-     * Sends a new booking notification to the admin.
-     * 
-     * @param booking The booking to notify about
+     * An email to send about a booking, as captured when the email was published.
      */
-    void sendAdminNotification(Booking booking);
+    record BookingEmail(EmailKind kind, BookingSnapshot booking) {
+    }
 
     /**
-     * Sends a status update email to the customer.
+     * Sends a batch of emails over one pooled mail server connection.
+     * Emails without a recipient (missing customer or admin address) are skipped, not failed.
      * 
-     * @param booking The booking with updated status
+     * @param emails The emails to send
+     * @return The emails that could not be sent, with the reason; empty if all were sent
      */
-    void sendStatusUpdateEmail(Booking booking);
+    Map<BookingEmail, EmailDeliveryException> sendAll(List<BookingEmail> emails);
 }
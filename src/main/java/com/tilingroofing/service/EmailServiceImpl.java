@@ -1,24 +1,42 @@
 package com.tilingroofing.service;
 
-import com.tilingroofing.domain.entity.Booking;
-import com.tilingroofing.domain.repository.BookingRepository;
+import com.tilingroofing.common.exception.EmailDeliveryException;
+import com.tilingroofing.domain.projection.BookingSnapshot;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
 /**
  * Implementation of EmailService.
- * Handles sending email notifications using async processing.
+ * Renders the Thymeleaf email templates from booking snapshots and sends each batch in one
+ * call to the pooled mail sender, so the whole batch goes over a single open SMTP connection.
+ *
+ * The emails of a batch are rendered in parallel on the email render executor, each snapshot's
+ * template variables built once and shared by its emails. Templates are parsed once and cached
+ * by the template engine; they are rendered at startup so the first emails don't pay for it.
+ * Missing recipients are logged and skipped, since retrying can't fix them; render and send
+ * failures are returned per email so the outbox retries just those.
  */
 @Service
 public class EmailServiceImpl implements EmailService {
@@ -27,179 +45,152 @@ public class EmailServiceImpl implements EmailService {
 
     private final TemplateEngine templateEngine;
     private final JavaMailSender mailSender;
-    private final BookingRepository bookingRepository;
+    private final Executor renderExecutor;
     private final String adminEmail;
     private final String fromEmail;
 
     public EmailServiceImpl(
             TemplateEngine templateEngine,
             JavaMailSender mailSender,
-            BookingRepository bookingRepository,
+            @Qualifier("emailRenderExecutor") Executor renderExecutor,
             @Value("${app.admin.email}") String adminEmail,
             @Value("${spring.mail.username:noreply@tilingroofing.com.au}") String fromEmail
     ) {
         this.templateEngine = templateEngine;
         this.mailSender = mailSender;
-        this.bookingRepository = bookingRepository;
+        this.renderExecutor = renderExecutor;
         this.adminEmail = adminEmail;
         this.fromEmail = fromEmail;
         log.info("Email service initialized. From: {}, Admin: {}", fromEmail, adminEmail);
     }
 
-    @Override
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
-    public void sendCustomerConfirmation(Booking booking) {
-        try {
-            // Re-fetch booking with user relationship in a new transaction
-            Booking bookingWithUser = fetchBookingWithUser(booking.getId());
-            if (bookingWithUser == null) {
-                log.warn("Cannot send confirmation email: booking not found: {}", booking.getBookingRef());
-                return;
-            }
-            
-            String customerEmail = bookingWithUser.getUser().getEmail();
-            if (customerEmail == null || customerEmail.isBlank()) {
-                log.warn("Cannot send confirmation email: customer email is missing for booking {}", 
-                        booking.getBookingRef());
-                return;
+    /**
+     * Renders every email template once the application is ready, so they are parsed and
+     * cached before the first email is sent. A template that fails to render is logged here
+     * and fails its emails later.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpTemplates() {
+        BookingSnapshot sample = new BookingSnapshot(0L, "TR-00000", "pending", "roof-tiling", "medium",
+                LocalDate.now(), "morning", "Sydney", "2000", "Sample booking", "Customer",
+                "customer@example.com", "0400000000");
+        Map<String, Object> variables = sample.toTemplateVariables();
+        for (EmailKind kind : EmailKind.values()) {
+            try {
+                render(kind, variables);
+            } catch (RuntimeException e) {
+                log.error("Failed to render email template {}: {}", template(kind), e.getMessage());
             }
-
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail);
-            helper.setTo(customerEmail);
-            helper.setSubject("Booking Confirmation - " + bookingWithUser.getBookingRef());
-
-            Context context = createBookingContext(bookingWithUser);
-            String htmlContent = templateEngine.process("email/customer-confirmation", context);
-            helper.setText(htmlContent, true);
-
-            mailSender.send(message);
-            log.info("Sent confirmation email to customer {} for booking {}", 
-                    customerEmail, bookingWithUser.getBookingRef());
-
-        } catch (MessagingException e) {
-            log.error("Failed to send customer confirmation email for booking {}: {}", 
-                    booking.getBookingRef(), e.getMessage(), e);
-        } catch (Exception e) {
-            log.error("Unexpected error sending customer confirmation email for booking {}: {}", 
-                    booking.getBookingRef(), e.getMessage(), e);
         }
+        log.debug("Email templates rendered and cached");
     }
 
     @Override
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
-    public void sendAdminNotification(Booking booking) {
-        try {
-            if (adminEmail == null || adminEmail.isBlank()) {
-                log.warn("Cannot send admin notification: admin email is not configured");
-                return;
+    public Map<BookingEmail, EmailDeliveryException> sendAll(List<BookingEmail> emails) {
+        Map<BookingEmail, EmailDeliveryException> failures = new HashMap<>();
+
+        // Render all emails in parallel, building each snapshot's variables once
+        Map<BookingSnapshot, Map<String, Object>> variablesBySnapshot = new HashMap<>();
+        Map<BookingEmail, String> recipients = new LinkedHashMap<>();
+        Map<BookingEmail, CompletableFuture<String>> rendered = new LinkedHashMap<>();
+        for (BookingEmail email : emails) {
+            String recipient = recipient(email);
+            if (recipient == null || recipient.isBlank()) {
+                log.warn("Cannot send {} email: recipient is missing for booking {}", 
+                        email.kind(), email.booking().bookingRef());
+                continue;
             }
+            Map<String, Object> variables = variablesBySnapshot.computeIfAbsent(
+                    email.booking(), BookingSnapshot::toTemplateVariables);
+            recipients.put(email, recipient);
+            rendered.put(email, CompletableFuture.supplyAsync(() -> render(email.kind(), variables), renderExecutor));
+        }
 
-            // Re-fetch booking with user relationship in a new transaction
-            Booking bookingWithUser = fetchBookingWithUser(booking.getId());
-            if (bookingWithUser == null) {
-                log.warn("Cannot send admin notification: booking not found: {}", booking.getBookingRef());
-                return;
+        Map<MimeMessage, BookingEmail> messages = new LinkedHashMap<>();
+        for (Map.Entry<BookingEmail, CompletableFuture<String>> entry : rendered.entrySet()) {
+            BookingEmail email = entry.getKey();
+            try {
+                messages.put(compose(email, recipients.get(email), entry.getValue().join()), email);
+            } catch (CompletionException e) {
+                failures.put(email, failure(email, e.getCause()));
+            } catch (MessagingException e) {
+                failures.put(email, failure(email, e));
             }
-
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-            helper.setFrom(fromEmail);
-            helper.setTo(adminEmail);
-            helper.setSubject("New Booking Received - " + bookingWithUser.getBookingRef());
-
-            Context context = createBookingContext(bookingWithUser);
-            String htmlContent = templateEngine.process("email/admin-notification", context);
-            helper.setText(htmlContent, true);
-
-            mailSender.send(message);
-            log.info("Sent admin notification email for booking {}", bookingWithUser.getBookingRef());
-
-        } catch (MessagingException e) {
-            log.error("Failed to send admin notification email for booking {}: {}", 
-                    booking.getBookingRef(), e.getMessage(), e);
-        } catch (Exception e) {
-            log.error("Unexpected error sending admin notification email for booking {}: {}", 
-                    booking.getBookingRef(), e.getMessage(), e);
         }
-    }
+        if (messages.isEmpty()) {
+            return failures;
+        }
 
-    @Override
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
-    public void sendStatusUpdateEmail(Booking booking) {
         try {
-            // Re-fetch booking with user relationship in a new transaction
-            Booking bookingWithUser = fetchBookingWithUser(booking.getId());
-            if (bookingWithUser == null) {
-                log.warn("Cannot send status update email: booking not found: {}", booking.getBookingRef());
-                return;
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                // No message was attempted, e.g. the mail server is unreachable
+                messages.values().forEach(email -> failures.put(email, failure(email, e)));
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> {
+                    BookingEmail email = messages.get((MimeMessage) message);
+                    failures.put(email, failure(email, cause));
+                });
             }
-            
-            String customerEmail = bookingWithUser.getUser().getEmail();
-            if (customerEmail == null || customerEmail.isBlank()) {
-                log.warn("Cannot send status update email: customer email is missing for booking {}", 
-                        booking.getBookingRef());
-                return;
-            }
-
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        } catch (MailException e) {
+            messages.values().forEach(email -> failures.put(email, failure(email, e)));
+        }
 
-            helper.setFrom(fromEmail);
-            helper.setTo(customerEmail);
-            helper.setSubject("Booking Status Update - " + bookingWithUser.getBookingRef());
+        long failedSends = messages.values().stream().filter(failures::containsKey).count();
+        log.info("Sent {} of {} email(s)", messages.size() - failedSends, emails.size());
+        return failures;
+    }
 
-            Context context = createBookingContext(bookingWithUser);
-            String htmlContent = templateEngine.process("email/status-update", context);
-            helper.setText(htmlContent, true);
+    private String recipient(BookingEmail email) {
+        return switch (email.kind()) {
+            case CUSTOMER_CONFIRMATION, STATUS_UPDATE -> email.booking().customerEmail();
+            case ADMIN_NOTIFICATION -> adminEmail;
+        };
+    }
 
-            mailSender.send(message);
-            log.info("Sent status update email to customer {} for booking {}", 
-                    customerEmail, bookingWithUser.getBookingRef());
+    private static String template(EmailKind kind) {
+        return switch (kind) {
+            case CUSTOMER_CONFIRMATION -> "email/customer-confirmation";
+            case ADMIN_NOTIFICATION -> "email/admin-notification";
+            case STATUS_UPDATE -> "email/status-update";
+        };
+    }
 
-        } catch (MessagingException e) {
-            log.error("Failed to send status update email for booking {}: {}", 
-                    booking.getBookingRef(), e.getMessage(), e);
-        } catch (Exception e) {
-            log.error("Unexpected error sending status update email for booking {}: {}", 
-                    booking.getBookingRef(), e.getMessage(), e);
-        }
+    private static String subject(BookingEmail email) {
+        String bookingRef = email.booking().bookingRef();
+        return switch (email.kind()) {
+            case CUSTOMER_CONFIRMATION -> "Booking Confirmation - " + bookingRef;
+            case ADMIN_NOTIFICATION -> "New Booking Received - " + bookingRef;
+            case STATUS_UPDATE -> "Booking Status Update - " + bookingRef;
+        };
     }
 
     /**
-     * Re-fetches a booking with its user relationship eagerly loaded.
-     * This is necessary because the booking passed from the async call may have
-     * lazy-loaded relationships that can't be accessed outside the original transaction.
+     * Renders the template of an email. Each call gets its own context, as contexts are not
+     * shared between threads; the variables map is only read.
      */
-    private Booking fetchBookingWithUser(Long bookingId) {
-        return bookingRepository.findByIdWithUser(bookingId).orElse(null);
+    private String render(EmailKind kind, Map<String, Object> variables) {
+        Context context = new Context();
+        context.setVariables(variables);
+        return templateEngine.process(template(kind), context);
     }
 
     /**
-     * Creates a Thymeleaf context with booking details.
+     * Wraps a rendered email into a message ready to send.
      */
-    private Context createBookingContext(Booking booking) {
-        Context context = new Context();
-        context.setVariable("booking", booking);
-        context.setVariable("bookingRef", booking.getBookingRef());
-        context.setVariable("customerName", booking.getUser().getDisplayName());
-        context.setVariable("serviceId", booking.getServiceId());
-        context.setVariable("jobSize", booking.getJobSize().getValue());
-        context.setVariable("preferredDate", booking.getPreferredDate());
-        context.setVariable("timeSlot", booking.getTimeSlot().getValue());
-        context.setVariable("suburb", booking.getSuburb());
-        context.setVariable("postcode", booking.getPostcode());
-        context.setVariable("description", booking.getDescription());
-        context.setVariable("status", booking.getStatus().getValue());
-        context.setVariable("customerEmail", booking.getUser().getEmail());
-        context.setVariable("customerPhone", booking.getCustomerPhone());
-        return context;
+    private MimeMessage compose(BookingEmail email, String recipient, String html) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(recipient);
+        helper.setSubject(subject(email));
+        helper.setText(html, true);
+        return message;
     }
-}
 
+    private EmailDeliveryException failure(BookingEmail email, Throwable cause) {
+        return new EmailDeliveryException(
+                "Failed to send " + email.kind() + " email for booking " + email.booking().bookingRef(), cause);
+    }
+}
@@ -4,6 +4,8 @@ import com.tilingroofing.domain.entity.BookingFile;
 import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 /**
  * Service interface for handling file storage operations.
  * Defines the contract for file storage operations.
@@ -24,6 +26,27 @@ public interface FileStorageService {
      */
     BookingFile storeFile(MultipartFile file, String bookingRef);
 
+    /**
+     * Stores several files for a booking before any database work, so slow uploads never
+     * run inside a transaction. Empty parts are skipped, and several files are uploaded in
+     * parallel. The result keeps the order of the given files.
+     * If any file fails, the ones already stored are discarded before the error is rethrown.
+     *
+     * @param files The multipart files to store (may be null)
+     * @param bookingRef The booking reference for organizing files
+     * @return unsaved BookingFile entities, ready to attach to the booking
+     */
+    List<BookingFile> storeFiles(List<MultipartFile> files, String bookingRef);
+
+    /**
+     * Removes stored files that were never attached to a booking, both local and
+     * UploadThing copies. Used to compensate when the booking transaction fails.
+     * Failures are logged, not thrown.
+     *
+     * @param files The stored files to remove
+     */
+    void discardFiles(List<BookingFile> files);
+
     /**
      * Loads a file as a resource by file ID.
      * 
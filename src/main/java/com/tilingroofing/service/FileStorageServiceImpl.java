@@ -11,6 +11,7 @@ import jakarta.annotation.PostConstruct;
 import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
@@ -23,7 +24,13 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Implementation of FileStorageService.
@@ -41,13 +48,16 @@ public class FileStorageServiceImpl implements FileStorageService {
     private final UploadThingScriptService uploadThingService;
     private final UploadThingConfig uploadThingConfig;
     private final com.tilingroofing.domain.repository.BookingRepository bookingRepository;
+    private final Executor uploadExecutor;
+    private final int uploadsPerRequest;
 
     public FileStorageServiceImpl(
             FileStorageProperties properties,
             BookingFileRepository fileRepository,
             UploadThingScriptService uploadThingService,
             UploadThingConfig uploadThingConfig,
-            com.tilingroofing.domain.repository.BookingRepository bookingRepository
+            com.tilingroofing.domain.repository.BookingRepository bookingRepository,
+            @Qualifier("fileUploadExecutor") Executor uploadExecutor
     ) {
         this.uploadPath = Paths.get(properties.getUploadDir()).toAbsolutePath().normalize();
         this.allowedTypes = properties.getAllowedTypes();
@@ -56,6 +66,8 @@ public class FileStorageServiceImpl implements FileStorageService {
         this.uploadThingService = uploadThingService;
         this.uploadThingConfig = uploadThingConfig;
         this.bookingRepository = bookingRepository;
+        this.uploadExecutor = uploadExecutor;
+        this.uploadsPerRequest = Math.max(1, properties.getUploadsPerRequest());
     }
 
     @Override
@@ -87,6 +99,110 @@ public class FileStorageServiceImpl implements FileStorageService {
         return storeFileLocally(file, bookingRef);
     }
     
+    @Override
+    public List<BookingFile> storeFiles(List<MultipartFile> files, String bookingRef) {
+        List<BookingFile> stored = new ArrayList<>();
+        if (files == null) {
+            return stored;
+        }
+        List<MultipartFile> toStore = files.stream()
+                .filter(file -> !file.isEmpty())
+                .toList();
+
+        // Reject the whole request before uploading anything if any file is invalid
+        toStore.forEach(this::validateFile);
+
+        if (toStore.size() == 1) {
+            stored.add(storeFile(toStore.get(0), bookingRef));
+            return stored;
+        }
+
+        // Upload in parallel on the shared pool, with at most uploadsPerRequest in flight for this
+        // request. Once one fails, the files not yet started are skipped.
+        Semaphore inFlight = new Semaphore(uploadsPerRequest);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<CompletableFuture<BookingFile>> uploads = new ArrayList<>();
+        boolean interrupted = false;
+        for (MultipartFile file : toStore) {
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrupted = true;
+                break;
+            }
+            if (failed.get()) {
+                inFlight.release();
+                break;
+            }
+            CompletableFuture<BookingFile> upload = CompletableFuture.supplyAsync(
+                    () -> storeFile(file, bookingRef), uploadExecutor);
+            upload.whenComplete((bookingFile, error) -> {
+                if (error != null) {
+                    failed.set(true);
+                }
+                inFlight.release();
+            });
+            uploads.add(upload);
+        }
+
+        // Wait for every started upload, in file order, so none is left running where it can't be cleaned up
+        RuntimeException failure = interrupted
+                ? new FileStorageException("Interrupted while storing files for booking " + bookingRef)
+                : null;
+        for (CompletableFuture<BookingFile> upload : uploads) {
+            try {
+                stored.add(upload.join());
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause
+                            ? cause
+                            : new FileStorageException("Failed to store file for booking " + bookingRef, e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            discardFiles(stored);
+            throw failure;
+        }
+        log.debug("Stored {} file(s) in parallel for booking {}", stored.size(), bookingRef);
+        return stored;
+    }
+
+    @Override
+    public void discardFiles(List<BookingFile> files) {
+        if (files == null || files.isEmpty()) {
+            return;
+        }
+        List<String> remoteKeys = new ArrayList<>();
+        for (BookingFile file : files) {
+            if (isRemote(file.getFilePath())) {
+                remoteKeys.add(file.getFilename());
+            } else {
+                deleteFile(file);
+            }
+        }
+        if (!remoteKeys.isEmpty()) {
+            try {
+                com.tilingroofing.api.dto.response.UploadThingDeleteResponse response =
+                        uploadThingService.deleteFiles(remoteKeys);
+                if (!response.isSuccess()) {
+                    log.warn("Failed to discard UploadThing file(s) {}: {}", remoteKeys, response.getError());
+                }
+            } catch (Exception e) {
+                log.warn("Failed to discard UploadThing file(s) {}: {}", remoteKeys, e.getMessage());
+            }
+        }
+        log.info("Discarded {} unattached file(s)", files.size());
+    }
+
+    /**
+     * Checks if a stored file path is an UploadThing URL rather than a local path.
+     */
+    private boolean isRemote(String filePath) {
+        return filePath != null && (filePath.startsWith("http://") || filePath.startsWith("https://"));
+    }
+
     /**
      * Checks if UploadThing is enabled and configured.
      */
@@ -0,0 +1,175 @@
+package com.tilingroofing.service;
+
+import com.tilingroofing.common.exception.BusinessException;
+import com.tilingroofing.domain.entity.RefSequence;
+import com.tilingroofing.domain.repository.RefSequenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Booking reference generator backed by a block-allocated (hi/lo) database sequence.
+ *
+ * A block of values is reserved from the ref_sequences table in its own short transaction,
+ * and references are then handed out from memory until the block is used up. Values are
+ * encoded in a configurable alphabet at a fixed width, followed by a check character
+ * (Luhn mod N), giving references like TR-0001K7Q.
+ *
+ * References issued by the previous generator (prefix plus five digits) are still
+ * accepted by {@link #isWellFormed(String)}.
+ */
+@Component
+public class HiLoBookingRefGenerator implements BookingRefGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(HiLoBookingRefGenerator.class);
+    private static final String SEQUENCE_NAME = "booking_ref";
+    private static final int MAX_REF_LENGTH = 20;
+
+    private final RefSequenceRepository refSequenceRepository;
+    private final TransactionTemplate allocationTransaction;
+    private final String prefix;
+    private final String alphabet;
+    private final int width;
+    private final int blockSize;
+    private final long capacity;
+    private final Pattern legacyPattern;
+
+    private final Lock lock = new ReentrantLock();
+    // Guarded by lock
+    private long nextValue = 0;
+    private long blockLimit = 0;
+
+    public HiLoBookingRefGenerator(
+            RefSequenceRepository refSequenceRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.booking.ref-prefix:TR}") String prefix,
+            @Value("${app.booking.ref-alphabet:0123456789ABCDEFGHJKMNPQRSTVWXYZ}") String alphabet,
+            @Value("${app.booking.ref-width:6}") int width,
+            @Value("${app.booking.ref-block-size:50}") int blockSize
+    ) {
+        if (alphabet.length() < 2 || alphabet.chars().distinct().count() != alphabet.length()) {
+            throw new IllegalArgumentException("Booking reference alphabet must have at least 2 distinct characters");
+        }
+        if (width < 4 || prefix.length() + 1 + width + 1 > MAX_REF_LENGTH) {
+            throw new IllegalArgumentException(String.format(
+                    "Booking reference width %d is out of range for prefix '%s' (max length %d)",
+                    width, prefix, MAX_REF_LENGTH));
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Booking reference block size must be positive");
+        }
+
+        this.refSequenceRepository = refSequenceRepository;
+        this.allocationTransaction = new TransactionTemplate(transactionManager);
+        this.allocationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.prefix = prefix;
+        this.alphabet = alphabet;
+        this.width = width;
+        this.blockSize = blockSize;
+        this.capacity = BigInteger.valueOf(alphabet.length()).pow(width)
+                .min(BigInteger.valueOf(Long.MAX_VALUE)).longValue();
+        this.legacyPattern = Pattern.compile(Pattern.quote(prefix) + "-\\d{5}");
+    }
+
+    @Override
+    public String nextRef() {
+        long value;
+        lock.lock();
+        try {
+            if (nextValue >= blockLimit) {
+                allocateBlock();
+            }
+            value = nextValue++;
+        } finally {
+            lock.unlock();
+        }
+
+        if (value >= capacity) {
+            throw new BusinessException("REFERENCE_GENERATION_FAILED",
+                    "Booking reference space is exhausted; increase app.booking.ref-width");
+        }
+
+        String body = encode(value);
+        return prefix + "-" + body + checkCharacter(body);
+    }
+
+    @Override
+    public boolean isWellFormed(String bookingRef) {
+        if (bookingRef == null) {
+            return false;
+        }
+        if (legacyPattern.matcher(bookingRef).matches()) {
+            return true;
+        }
+        if (bookingRef.length() != prefix.length() + 1 + width + 1
+                || !bookingRef.startsWith(prefix + "-")) {
+            return false;
+        }
+
+        String body = bookingRef.substring(prefix.length() + 1, bookingRef.length() - 1);
+        for (int i = 0; i < body.length(); i++) {
+            if (alphabet.indexOf(body.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return bookingRef.charAt(bookingRef.length() - 1) == checkCharacter(body);
+    }
+
+    /**
+     * Reserves the next block of values in a separate short transaction.
+     * The row lock serialises allocation across application instances.
+     */
+    private void allocateBlock() {
+        Long start = allocationTransaction.execute(status -> {
+            RefSequence sequence = refSequenceRepository.findByNameForUpdate(SEQUENCE_NAME)
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Sequence '" + SEQUENCE_NAME + "' not found. Please ensure migrations have run."));
+            long blockStart = sequence.getNextValue();
+            sequence.setNextValue(blockStart + blockSize);
+            return blockStart;
+        });
+
+        nextValue = start;
+        blockLimit = start + blockSize;
+        log.debug("Allocated booking reference block [{}, {})", nextValue, blockLimit);
+    }
+
+    /**
+     * Encodes a value as a fixed-width, left-padded string in the configured alphabet.
+     */
+    private String encode(long value) {
+        int base = alphabet.length();
+        char[] chars = new char[width];
+        long remaining = value;
+        for (int i = width - 1; i >= 0; i--) {
+            chars[i] = alphabet.charAt((int) (remaining % base));
+            remaining /= base;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Computes a Luhn mod N check character over the alphabet.
+     * Detects all single-character errors and most adjacent transpositions.
+     */
+    private char checkCharacter(String body) {
+        int base = alphabet.length();
+        int factor = 2;
+        int sum = 0;
+        for (int i = body.length() - 1; i >= 0; i--) {
+            int addend = factor * alphabet.indexOf(body.charAt(i));
+            factor = (factor == 2) ? 1 : 2;
+            sum += (addend / base) + (addend % base);
+        }
+        return alphabet.charAt((base - (sum % base)) % base);
+    }
+}
@@ -0,0 +1,184 @@
+package com.tilingroofing.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tilingroofing.config.ReplicaRouting;
+import com.tilingroofing.domain.entity.IdempotencyRecord;
+import com.tilingroofing.domain.enums.IdempotencyStatus;
+import com.tilingroofing.domain.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores responses to mutating requests sent with an Idempotency-Key header.
+ *
+ * Completed responses are kept in a bounded in-memory cache with TTL eviction, backed by the
+ * idempotency_keys table so retries that reach another instance (or arrive after a restart)
+ * are still answered from the stored response. A key is claimed with an insert before the
+ * request runs, so two concurrent requests with the same key can't both do the work.
+ *
+ * While a request runs, the instance running it refreshes the claim every heartbeat
+ * interval, so however long the request takes its claim is only taken over once the instance
+ * has stopped refreshing it - it crashed - for the in-progress timeout.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final Duration ttl;
+    private final Duration inProgressTimeout;
+    private final Cache<String, StoredResponse> completed;
+    private final Set<String> held = ConcurrentHashMap.newKeySet();
+
+    public IdempotencyStore(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${app.idempotency.in-progress-timeout-seconds:120}") long inProgressTimeoutSeconds,
+            @Value("${app.idempotency.heartbeat-interval-ms:30000}") long heartbeatIntervalMs,
+            @Value("${app.idempotency.cache-max-entries:10000}") long cacheMaxEntries
+    ) {
+        if (heartbeatIntervalMs * 2 > inProgressTimeoutSeconds * 1000) {
+            throw new IllegalArgumentException("Idempotency heartbeat interval must be at most half the in-progress timeout");
+        }
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.inProgressTimeout = Duration.ofSeconds(inProgressTimeoutSeconds);
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Finds the stored response for a key, from the cache or else the database.
+     */
+    public Optional<StoredResponse> findCompleted(String keyHash) {
+        StoredResponse cached = completed.getIfPresent(keyHash);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<StoredResponse> stored = ReplicaRouting.onPrimary(() -> idempotencyRecordRepository.findByKeyHash(keyHash))
+                .filter(record -> record.getStatus() == IdempotencyStatus.COMPLETED)
+                .filter(record -> record.getExpiresAt().isAfter(LocalDateTime.now()))
+                .map(record -> new StoredResponse(
+                        record.getRequestFingerprint(),
+                        record.getResponseStatus(),
+                        record.getContentType(),
+                        record.getResponseBody()));
+        stored.ifPresent(response -> completed.put(keyHash, response));
+        return stored;
+    }
+
+    /**
+     * Finds the fingerprint of the request that holds a key, whether it has finished or not.
+     */
+    public Optional<String> findFingerprint(String keyHash) {
+        StoredResponse cached = completed.getIfPresent(keyHash);
+        if (cached != null) {
+            return Optional.of(cached.fingerprint());
+        }
+        return ReplicaRouting.onPrimary(() -> idempotencyRecordRepository.findByKeyHash(keyHash))
+                .map(IdempotencyRecord::getRequestFingerprint);
+    }
+
+    /**
+     * Claims a key for a request that is about to run. The claim is kept alive until the
+     * caller completes or releases it.
+     * An expired record, or a claim in progress that hasn't been refreshed for longer than the
+     * timeout (assumed abandoned), is replaced.
+     *
+     * @return true if the caller now holds the key, false if another request does
+     */
+    public boolean claim(String keyHash, String fingerprint) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean claimed = idempotencyRecordRepository.claim(keyHash, fingerprint, now.plus(ttl)) == 1;
+        if (!claimed && idempotencyRecordRepository.deleteReclaimable(keyHash, now, now.minus(inProgressTimeout)) == 1) {
+            log.debug("Reclaimed an expired or abandoned idempotency key");
+            claimed = idempotencyRecordRepository.claim(keyHash, fingerprint, now.plus(ttl)) == 1;
+        }
+        if (claimed) {
+            held.add(keyHash);
+        }
+        return claimed;
+    }
+
+    /**
+     * Stores the response for a claimed key.
+     * A failure is logged rather than thrown; the request itself has already succeeded.
+     */
+    public void complete(String keyHash, StoredResponse response) {
+        held.remove(keyHash);
+        completed.put(keyHash, response);
+        try {
+            idempotencyRecordRepository.complete(keyHash, IdempotencyStatus.COMPLETED, response.status(),
+                    response.contentType(), response.body(), LocalDateTime.now().plus(ttl));
+        } catch (RuntimeException e) {
+            log.warn("Failed to store idempotent response, only this instance will replay it: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Releases a claimed key without storing a response, so the request can be retried.
+     */
+    public void release(String keyHash) {
+        held.remove(keyHash);
+        try {
+            idempotencyRecordRepository.deleteInProgress(keyHash);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release idempotency key, it will be taken over after {}: {}",
+                    inProgressTimeout, e.getMessage());
+        }
+    }
+
+    /**
+     * Periodically refreshes the claims of the requests running on this instance.
+     */
+    @Scheduled(
+            initialDelayString = "${app.idempotency.heartbeat-interval-ms:30000}",
+            fixedDelayString = "${app.idempotency.heartbeat-interval-ms:30000}"
+    )
+    public void heartbeat() {
+        if (held.isEmpty()) {
+            return;
+        }
+        try {
+            idempotencyRecordRepository.heartbeat(List.copyOf(held), LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh idempotency claims, they may be taken over after {}: {}",
+                    inProgressTimeout, e.getMessage());
+        }
+    }
+
+    /**
+     * Periodically deletes expired records.
+     */
+    @Scheduled(
+            initialDelayString = "${app.idempotency.purge-interval-ms:3600000}",
+            fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}"
+    )
+    public void purgeExpired() {
+        int deleted = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency key(s)", deleted);
+        }
+    }
+
+    /**
+     * A response stored for replay, with the fingerprint of the request that produced it.
+     */
+    public record StoredResponse(String fingerprint, int status, String contentType, byte[] body) {
+    }
+}
@@ -34,5 +34,13 @@ public interface NotificationService {
      * @return Updated NotificationResponse
      */
     NotificationResponse markAsRead(Long notificationId);
+
+    /**
+     * Returns the entity tag of the notification list, for conditional requests.
+     * Notifications embed booking details, so booking changes change the tag too.
+     * 
+     * @return Strong entity tag
+     */
+    String getNotificationsEtag();
 }
 
@@ -9,6 +9,7 @@ import com.tilingroofing.domain.entity.Notification;
 import com.tilingroofing.domain.entity.User;
 import com.tilingroofing.domain.repository.BookingRepository;
 import com.tilingroofing.domain.repository.NotificationRepository;
+import com.tilingroofing.service.DataVersions.DataSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -33,13 +34,16 @@ public class NotificationServiceImpl implements NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final BookingRepository bookingRepository;
+    private final DataVersions dataVersions;
 
     public NotificationServiceImpl(
             NotificationRepository notificationRepository,
-            BookingRepository bookingRepository
+            BookingRepository bookingRepository,
+            DataVersions dataVersions
     ) {
         this.notificationRepository = notificationRepository;
         this.bookingRepository = bookingRepository;
+        this.dataVersions = dataVersions;
     }
 
     @Override
@@ -93,6 +97,7 @@ public class NotificationServiceImpl implements NotificationService {
         try {
             // Use saveAndFlush to ensure ID is generated immediately
             notification = notificationRepository.saveAndFlush(notification);
+            dataVersions.changed(DataSet.NOTIFICATIONS);
             
             // Verify ID was generated
             if (notification.getId() == null) {
@@ -128,6 +133,7 @@ public class NotificationServiceImpl implements NotificationService {
 
         notification.setIsRead(true);
         notification = notificationRepository.save(notification);
+        dataVersions.changed(DataSet.NOTIFICATIONS);
         log.info("Marked notification {} as read", notificationId);
 
         // Trigger lazy loading for complete response
@@ -136,6 +142,14 @@ public class NotificationServiceImpl implements NotificationService {
         return toNotificationResponse(notification);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getNotificationsEtag() {
+        return DataVersions.etag(
+                dataVersions.tag(DataSet.NOTIFICATIONS),
+                dataVersions.tag(DataSet.BOOKINGS));
+    }
+
     /**
      * Triggers lazy loading for booking and user relationships to avoid N+1 queries.
      */
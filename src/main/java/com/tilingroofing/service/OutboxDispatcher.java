@@ -0,0 +1,299 @@
+package com.tilingroofing.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tilingroofing.common.exception.EmailDeliveryException;
+import com.tilingroofing.common.exception.ResourceNotFoundException;
+import com.tilingroofing.domain.entity.OutboxEvent;
+import com.tilingroofing.domain.enums.OutboxEventType;
+import com.tilingroofing.domain.projection.BookingSnapshot;
+import com.tilingroofing.domain.repository.OutboxEventRepository;
+import com.tilingroofing.service.EmailService.BookingEmail;
+import com.tilingroofing.service.EmailService.EmailKind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Delivers the events written by the OutboxPublisher.
+ *
+ * Every node polls the outbox. A batch of due events is claimed in a short transaction:
+ * the rows are locked with SELECT ... FOR UPDATE SKIP LOCKED, so concurrent dispatchers
+ * skip each other's rows, and leased by moving their available_at past the lease and
+ * stamping them with a token of the claim. The events are then delivered outside any
+ * transaction, the batch's emails in parts of send-batch-size over one pooled SMTP
+ * connection. Emails are rendered from the booking snapshot stored with their event, so
+ * sending them reads nothing from the database. Delivered events are marked sent; failed
+ * ones are retried with exponential backoff until max-attempts, then marked failed.
+ *
+ * The lease is renewed before each part is sent, and only has to cover sending one part.
+ * Every update is fenced by the claim's token: if a slow part outlasts the lease and another
+ * node claims the events, the first dispatcher neither sends nor marks them any more.
+ *
+ * Delivery is at least once: a node that dies after sending but before marking the event
+ * sent leaves it to be sent again when the lease runs out.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EmailService emailService;
+    private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate claimTransaction;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final int sendBatchSize;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+    private final Duration retention;
+
+    public OutboxDispatcher(
+            OutboxEventRepository outboxEventRepository,
+            EmailService emailService,
+            NotificationService notificationService,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.outbox.batch-size:50}") int batchSize,
+            @Value("${app.outbox.max-batches-per-poll:10}") int maxBatchesPerPoll,
+            @Value("${app.outbox.send-batch-size:5}") int sendBatchSize,
+            @Value("${app.outbox.max-send-seconds:45}") long maxSendSeconds,
+            @Value("${app.outbox.lease-seconds:240}") long leaseSeconds,
+            @Value("${app.outbox.initial-backoff-seconds:30}") long initialBackoffSeconds,
+            @Value("${app.outbox.max-backoff-seconds:3600}") long maxBackoffSeconds,
+            @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${app.outbox.retention-hours:168}") long retentionHours
+    ) {
+        if (batchSize < 1 || maxBatchesPerPoll < 1 || sendBatchSize < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("Outbox batch sizes and max attempts must be positive");
+        }
+        if (leaseSeconds < sendBatchSize * maxSendSeconds) {
+            throw new IllegalArgumentException("Outbox lease of " + leaseSeconds + "s doesn't cover sending "
+                    + sendBatchSize + " email(s) at up to " + maxSendSeconds + "s each");
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.emailService = emailService;
+        this.notificationService = notificationService;
+        this.objectMapper = objectMapper;
+        this.claimTransaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.sendBatchSize = sendBatchSize;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.initialBackoff = Duration.ofSeconds(initialBackoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+        this.maxAttempts = maxAttempts;
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    /**
+     * Drains the due events batch by batch until fewer than a full batch is due, or until
+     * max-batches-per-poll batches have been delivered; a larger backlog is picked up by the
+     * next poll. Runs on its own scheduler (see SchedulingConfig).
+     */
+    @Scheduled(
+            scheduler = "outboxScheduler",
+            initialDelayString = "${app.outbox.poll-interval-ms:1000}",
+            fixedDelayString = "${app.outbox.poll-interval-ms:1000}"
+    )
+    public void dispatch() {
+        List<OutboxEvent> batch;
+        int batches = 0;
+        do {
+            batch = claimBatch();
+            if (!batch.isEmpty()) {
+                deliver(batch);
+            }
+        } while (batch.size() == batchSize && ++batches < maxBatchesPerPoll);
+    }
+
+    /**
+     * Periodically deletes delivered events older than the retention period.
+     * Failed events are kept for inspection.
+     */
+    @Scheduled(
+            initialDelayString = "${app.outbox.purge-interval-ms:3600000}",
+            fixedDelayString = "${app.outbox.purge-interval-ms:3600000}"
+    )
+    public void purgeSent() {
+        int deleted = outboxEventRepository.deleteSentBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} delivered outbox event(s)", deleted);
+        }
+    }
+
+    /**
+     * Locks a batch of due events and leases them to this dispatcher under a new token.
+     */
+    private List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        String token = UUID.randomUUID().toString();
+        List<OutboxEvent> due = claimTransaction.execute(status -> {
+            List<OutboxEvent> locked = outboxEventRepository.lockDue(now, batchSize);
+            if (!locked.isEmpty()) {
+                outboxEventRepository.lease(locked.stream().map(OutboxEvent::getId).toList(), token, now.plus(lease));
+            }
+            return locked;
+        });
+        // Set once the entities are detached, so the stale attempts aren't flushed over the lease
+        due.forEach(event -> event.setLeaseToken(token));
+        return due;
+    }
+
+    /**
+     * Extends the lease on the events still to be delivered and returns the IDs of those this
+     * dispatcher still holds. Events whose lease ran out may have been claimed by another
+     * node since; they are left to it.
+     */
+    private Set<Long> renewLease(List<OutboxEvent> remaining) {
+        String token = remaining.get(0).getLeaseToken();
+        List<Long> ids = remaining.stream().map(OutboxEvent::getId).toList();
+        if (outboxEventRepository.renewLease(ids, token, LocalDateTime.now().plus(lease)) == ids.size()) {
+            return new HashSet<>(ids);
+        }
+        Set<Long> held = new HashSet<>(outboxEventRepository.findHeld(ids, token));
+        log.warn("Lease ran out on {} outbox event(s) before they were sent; leaving them to their new holder",
+                ids.size() - held.size());
+        return held;
+    }
+
+    /**
+     * Delivers a claimed batch. Notifications are created one by one; emails are rendered from
+     * the snapshot stored with their event and sent together, part by part.
+     */
+    private void deliver(List<OutboxEvent> batch) {
+        // Keyed by event, so every event is marked even if two of them render the same email
+        Map<Long, BookingEmail> emails = new LinkedHashMap<>();
+        List<OutboxEvent> emailEvents = new ArrayList<>();
+        for (OutboxEvent event : batch) {
+            if (event.getEventType() == OutboxEventType.BOOKING_NOTIFICATION) {
+                try {
+                    notificationService.createNotification(event.getBookingId(), readPayload(event).get("message"));
+                    markSent(event);
+                } catch (ResourceNotFoundException e) {
+                    // Deleted since the event was claimed - there is nothing left to deliver
+                    log.debug("Skipping outbox event {}: booking {} no longer exists", event.getId(), event.getBookingId());
+                    markSent(event);
+                } catch (RuntimeException e) {
+                    failed(event, e);
+                }
+                continue;
+            }
+
+            BookingSnapshot snapshot;
+            try {
+                snapshot = readSnapshot(event);
+            } catch (RuntimeException e) {
+                failed(event, e);
+                continue;
+            }
+            EmailKind kind = switch (event.getEventType()) {
+                case CUSTOMER_CONFIRMATION -> EmailKind.CUSTOMER_CONFIRMATION;
+                case ADMIN_NOTIFICATION -> EmailKind.ADMIN_NOTIFICATION;
+                default -> EmailKind.STATUS_UPDATE;
+            };
+            emails.put(event.getId(), new BookingEmail(kind, snapshot));
+            emailEvents.add(event);
+        }
+
+        for (int start = 0; start < emailEvents.size(); start += sendBatchSize) {
+            List<OutboxEvent> remaining = emailEvents.subList(start, emailEvents.size());
+            Set<Long> held = renewLease(remaining);
+            List<OutboxEvent> part = remaining.subList(0, Math.min(sendBatchSize, remaining.size()))
+                    .stream()
+                    .filter(event -> held.contains(event.getId()))
+                    .toList();
+            if (part.isEmpty()) {
+                continue;
+            }
+            Map<BookingEmail, EmailDeliveryException> failures =
+                    emailService.sendAll(part.stream().map(event -> emails.get(event.getId())).toList());
+            for (OutboxEvent event : part) {
+                EmailDeliveryException failure = failures.get(emails.get(event.getId()));
+                if (failure != null) {
+                    failed(event, failure);
+                } else {
+                    markSent(event);
+                }
+            }
+        }
+    }
+
+    private void markSent(OutboxEvent event) {
+        if (outboxEventRepository.markSent(event.getId(), event.getLeaseToken(), LocalDateTime.now()) == 0) {
+            leaseLost(event);
+        }
+    }
+
+    /**
+     * Schedules a failed event for another attempt, or gives up after the last one.
+     * The claim already counted this attempt, so the stored count is one behind.
+     */
+    private void failed(OutboxEvent event, RuntimeException e) {
+        int attempt = event.getAttempts() + 1;
+        String error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+        if (attempt >= maxAttempts) {
+            log.error("Giving up on outbox event {} ({} for booking {}) after {} attempt(s): {}",
+                    event.getId(), event.getEventType(), event.getBookingId(), attempt, error);
+            if (outboxEventRepository.markFailed(event.getId(), event.getLeaseToken(), LocalDateTime.now(), error) == 0) {
+                leaseLost(event);
+            }
+            return;
+        }
+
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        if (backoff.compareTo(maxBackoff) > 0) {
+            backoff = maxBackoff;
+        }
+        log.warn("Outbox event {} ({} for booking {}) failed on attempt {}, retrying in {}s: {}",
+                event.getId(), event.getEventType(), event.getBookingId(), attempt, backoff.toSeconds(), error);
+        if (outboxEventRepository.reschedule(event.getId(), event.getLeaseToken(), LocalDateTime.now().plus(backoff), error) == 0) {
+            leaseLost(event);
+        }
+    }
+
+    private void leaseLost(OutboxEvent event) {
+        log.warn("Lease on outbox event {} ({} for booking {}) ran out during delivery; leaving it to its new holder",
+                event.getId(), event.getEventType(), event.getBookingId());
+    }
+
+    private Map<String, String> readPayload(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(),
+                    objectMapper.getTypeFactory().constructMapType(Map.class, String.class, String.class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable payload for outbox event " + event.getId(), e);
+        }
+    }
+
+    private BookingSnapshot readSnapshot(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), BookingSnapshot.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable payload for outbox event " + event.getId(), e);
+        }
+    }
+
+    private static String truncate(String value) {
+        return value.length() <= MAX_ERROR_LENGTH ? value : value.substring(0, MAX_ERROR_LENGTH);
+    }
+}
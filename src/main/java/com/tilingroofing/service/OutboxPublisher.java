@@ -0,0 +1,83 @@
+package com.tilingroofing.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tilingroofing.domain.entity.Booking;
+import com.tilingroofing.domain.enums.BookingStatus;
+import com.tilingroofing.domain.enums.OutboxEventType;
+import com.tilingroofing.domain.projection.BookingSnapshot;
+import com.tilingroofing.domain.repository.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Writes the side effects of booking changes to the outbox table.
+ *
+ * Events are written in the caller's transaction, so they exist exactly when the change
+ * itself commits, and are delivered afterwards by the OutboxDispatcher. Each event has a
+ * dedupe key; publishing the same event twice (e.g. from a retried request) writes it once.
+ *
+ * Email events carry a snapshot of the booking as of the change, so the dispatcher renders
+ * and sends them without reading the booking back.
+ */
+@Component
+public class OutboxPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxPublisher(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Publishes the admin notification and both emails for a new booking.
+     * Both emails share one snapshot of the booking.
+     *
+     * @param booking The new booking, with its user loaded
+     * @param notificationMessage Message of the admin notification
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bookingCreated(Booking booking, String notificationMessage) {
+        Long bookingId = booking.getId();
+        String snapshot = toJson(BookingSnapshot.of(booking));
+        publish(OutboxEventType.BOOKING_NOTIFICATION, bookingId, String.valueOf(bookingId),
+                toJson(Map.of("message", notificationMessage)));
+        publish(OutboxEventType.CUSTOMER_CONFIRMATION, bookingId, String.valueOf(bookingId), snapshot);
+        publish(OutboxEventType.ADMIN_NOTIFICATION, bookingId, String.valueOf(bookingId), snapshot);
+    }
+
+    /**
+     * Publishes the status update emails for bookings that moved to a new status.
+     * Status transitions never revisit a status, so one email per booking and status is sent.
+     *
+     * @param bookings The updated bookings, with their users loaded
+     * @param status The new status
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(Collection<Booking> bookings, BookingStatus status) {
+        for (Booking booking : bookings) {
+            publish(OutboxEventType.STATUS_UPDATE_EMAIL, booking.getId(), booking.getId() + ":" + status.name(),
+                    toJson(BookingSnapshot.of(booking, status)));
+        }
+    }
+
+    private void publish(OutboxEventType type, Long bookingId, String key, String payload) {
+        outboxEventRepository.insertIfAbsent(
+                type.name(), bookingId, type.name() + ":" + key, payload, LocalDateTime.now());
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize outbox payload", e);
+        }
+    }
+}
@@ -65,4 +65,11 @@ public interface RatingService {
      * @return Total number of ratings
      */
     Long getTotalRatingsCount();
+
+    /**
+     * Returns the entity tag of the ratings and their statistics, for conditional requests.
+     * 
+     * @return Strong entity tag
+     */
+    String getRatingsEtag();
 }
@@ -10,6 +10,7 @@ import com.tilingroofing.domain.entity.Booking;
 import com.tilingroofing.domain.entity.Rating;
 import com.tilingroofing.domain.repository.BookingRepository;
 import com.tilingroofing.domain.repository.RatingRepository;
+import com.tilingroofing.service.DataVersions.DataSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -27,15 +28,18 @@ public class RatingServiceImpl implements RatingService {
     private final RatingRepository ratingRepository;
     private final BookingRepository bookingRepository;
     private final RatingMapper ratingMapper;
+    private final DataVersions dataVersions;
 
     public RatingServiceImpl(
             RatingRepository ratingRepository,
             BookingRepository bookingRepository,
-            RatingMapper ratingMapper
+            RatingMapper ratingMapper,
+            DataVersions dataVersions
     ) {
         this.ratingRepository = ratingRepository;
         this.bookingRepository = bookingRepository;
         this.ratingMapper = ratingMapper;
+        this.dataVersions = dataVersions;
     }
 
     @Override
@@ -59,6 +63,7 @@ public class RatingServiceImpl implements RatingService {
                 .build();
 
         rating = ratingRepository.save(rating);
+        dataVersions.changed(DataSet.RATINGS);
         log.info("Created rating {} for booking {}", rating.getId(), booking.getBookingRef());
 
         return ratingMapper.toRatingResponse(rating);
@@ -97,6 +102,7 @@ public class RatingServiceImpl implements RatingService {
         }
 
         rating = ratingRepository.save(rating);
+        dataVersions.changed(DataSet.RATINGS);
         log.info("Updated rating: {}", id);
 
         return ratingMapper.toRatingResponse(rating);
@@ -110,6 +116,7 @@ public class RatingServiceImpl implements RatingService {
         }
 
         ratingRepository.deleteById(id);
+        dataVersions.changed(DataSet.RATINGS);
         log.info("Deleted rating: {}", id);
     }
 
@@ -124,5 +131,11 @@ public class RatingServiceImpl implements RatingService {
     public Long getTotalRatingsCount() {
         return ratingRepository.countAllRatings();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getRatingsEtag() {
+        return DataVersions.etag(dataVersions.tag(DataSet.RATINGS));
+    }
 }
 
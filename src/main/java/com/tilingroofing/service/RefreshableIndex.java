@@ -0,0 +1,250 @@
+package com.tilingroofing.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Base for in-memory indexes that are loaded from the database on startup, rebuilt
+ * periodically to pick up changes made by other application nodes, and kept current between
+ * rebuilds by applying local changes once their transaction commits.
+ *
+ * A rebuild can't tell whether a change committed while its query ran is in the loaded
+ * snapshot. So the keys of changes whose commit overlaps the query are tracked, and for those
+ * keys the new snapshot takes the value the index already has - which includes every local
+ * change - instead of the loaded one. Replaying the changes would apply additive ones twice.
+ * Changes that finished committing before the query are in the snapshot; changes that begin
+ * committing after it are applied to the new snapshot as usual. The first load has no values
+ * to fall back on, so it is retried while changes keep overlapping it.
+ *
+ * @param <S> snapshot loaded from the database
+ * @param <K> key of the entry a change affects
+ * @param <M> a local change
+ */
+public abstract class RefreshableIndex<S, K, M> {
+
+    private static final int FIRST_LOAD_ATTEMPTS = 3;
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private boolean loaded = false;
+    private LocalDate origin;
+    private long version = 0;
+    private final List<K> committing = new ArrayList<>();
+    private Set<K> changedDuringReload;
+
+    /**
+     * Loads the index once the application is ready.
+     * Failure is not fatal - lookups fall back to the database until the next refresh succeeds.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    /**
+     * Periodically rebuilds the index from the database.
+     */
+    @Scheduled(
+            initialDelayString = "${app.availability.refresh-interval-ms:300000}",
+            fixedDelayString = "${app.availability.refresh-interval-ms:300000}"
+    )
+    public void scheduledReload() {
+        reload();
+    }
+
+    /**
+     * Rebuilds the index from the database, from today onwards.
+     */
+    public synchronized void reload() {
+        for (int attempt = 1; attempt <= FIRST_LOAD_ATTEMPTS; attempt++) {
+            LocalDate from = LocalDate.now();
+
+            lock.writeLock().lock();
+            try {
+                // Changes committing right now may or may not make it into the snapshot
+                changedDuringReload = new HashSet<>(committing);
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            S snapshot;
+            try {
+                snapshot = load(from);
+            } catch (Exception e) {
+                log.warn("Failed to load {}, falling back to database lookups: {}", name(), e.getMessage());
+                lock.writeLock().lock();
+                try {
+                    changedDuringReload = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                return;
+            }
+
+            lock.writeLock().lock();
+            try {
+                Set<K> changed = changedDuringReload;
+                changedDuringReload = null;
+                if (!loaded && !changed.isEmpty()) {
+                    log.debug("{} changed while loading, retrying", name());
+                    continue;
+                }
+                if (loaded) {
+                    for (K key : changed) {
+                        keepCurrent(snapshot, from, key);
+                    }
+                }
+                install(snapshot, from);
+                origin = from;
+                loaded = true;
+                version++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            log.info("{} loaded: {}", capitalize(name()), describe(snapshot, from));
+            return;
+        }
+        log.warn("Failed to load {}: it kept changing while loading, falling back to database lookups", name());
+    }
+
+    /**
+     * Returns a counter that changes whenever the index contents change.
+     * Lets callers cache values derived from the index.
+     */
+    public long getVersion() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Records a local change, applied after the current transaction commits (or right away
+     * outside one).
+     */
+    protected void record(M mutation) {
+        K key = keyOf(mutation);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    beginCommit(key);
+                }
+
+                @Override
+                public void afterCommit() {
+                    endCommit(key);
+                    apply(mutation);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        endCommit(key);
+                    }
+                }
+            });
+        } else {
+            beginCommit(key);
+            endCommit(key);
+            apply(mutation);
+        }
+    }
+
+    /**
+     * Whether the index is loaded and may answer lookups from the given date onwards.
+     * Must be called holding the lock.
+     */
+    protected boolean covers(LocalDate date) {
+        return loaded && !date.isBefore(origin);
+    }
+
+    /**
+     * Loads the snapshot of everything from the given date onwards.
+     */
+    protected abstract S load(LocalDate from);
+
+    /**
+     * Replaces the index contents with a snapshot. Called holding the write lock.
+     */
+    protected abstract void install(S snapshot, LocalDate from);
+
+    /**
+     * Copies the current value of one entry into a snapshot loaded from the given date.
+     * Called holding the write lock.
+     */
+    protected abstract void keepCurrent(S snapshot, LocalDate from, K key);
+
+    /**
+     * Applies a change to the index contents. Called holding the write lock.
+     */
+    protected abstract void applyLocked(M mutation);
+
+    protected abstract K keyOf(M mutation);
+
+    /**
+     * Name of the index for log messages, e.g. "availability index".
+     */
+    protected abstract String name();
+
+    /**
+     * Summary of a loaded snapshot for the log.
+     */
+    protected abstract String describe(S snapshot, LocalDate from);
+
+    private void beginCommit(K key) {
+        lock.writeLock().lock();
+        try {
+            committing.add(key);
+            if (changedDuringReload != null) {
+                changedDuringReload.add(key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void endCommit(K key) {
+        lock.writeLock().lock();
+        try {
+            committing.remove(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(M mutation) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                applyLocked(mutation);
+                version++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+}
@@ -0,0 +1,202 @@
+package com.tilingroofing.service;
+
+import com.tilingroofing.config.CapacityProperties;
+import com.tilingroofing.config.ReplicaRouting;
+import com.tilingroofing.domain.entity.SlotCapacity;
+import com.tilingroofing.domain.enums.TimeSlot;
+import com.tilingroofing.domain.repository.SlotCapacityRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * In-memory index of the capacity left in each time slot.
+ * Lets the availability endpoints answer "which slots can still take this job?" without
+ * a database round trip per day. Only days with a slot_capacity row are stored; any other
+ * day has the full configured capacity in every slot.
+ *
+ * Like {@link AvailabilityIndex}, the index is loaded on startup, refreshed periodically,
+ * and local changes are applied after the surrounding transaction commits. It is advisory:
+ * the compare-and-set updates in {@link SlotScheduler} remain the final authority on writes.
+ */
+@Component
+public class SlotCapacityIndex
+        extends RefreshableIndex<NavigableMap<LocalDate, int[]>, SlotCapacityIndex.Slot, SlotCapacityIndex.Mutation> {
+
+    private final SlotCapacityRepository slotCapacityRepository;
+    private final CapacityProperties capacityProperties;
+
+    // Guarded by lock
+    private NavigableMap<LocalDate, int[]> remainingByDay = new TreeMap<>();
+
+    public SlotCapacityIndex(SlotCapacityRepository slotCapacityRepository, CapacityProperties capacityProperties) {
+        this.slotCapacityRepository = slotCapacityRepository;
+        this.capacityProperties = capacityProperties;
+    }
+
+    /**
+     * Returns the capacity left in each slot over a date range (inclusive).
+     * Ranges starting before the index origin (or any range while the index is not loaded)
+     * are answered by the database.
+     */
+    public Snapshot between(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            if (covers(from)) {
+                NavigableMap<LocalDate, int[]> copy = new TreeMap<>();
+                remainingByDay.subMap(from, true, to, true)
+                        .forEach((date, remaining) -> copy.put(date, remaining.clone()));
+                return new Snapshot(copy, capacityProperties.getSlotCapacity());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new Snapshot(
+                new TreeMap<>(toRemaining(ReplicaRouting.onPrimary(() -> slotCapacityRepository.findBetween(from, to)))),
+                capacityProperties.getSlotCapacity());
+    }
+
+    /**
+     * Records that units were reserved in a slot.
+     * Applied after the current transaction commits, or immediately if there is none.
+     */
+    public void markReserved(LocalDate date, TimeSlot slot, int units) {
+        record(new Mutation(date, slot, units));
+    }
+
+    /**
+     * Records that units were released from a slot.
+     * Applied after the current transaction commits, or immediately if there is none.
+     */
+    public void markReleased(LocalDate date, TimeSlot slot, int units) {
+        record(new Mutation(date, slot, -units));
+    }
+
+    @Override
+    protected NavigableMap<LocalDate, int[]> load(LocalDate from) {
+        return new TreeMap<>(toRemaining(ReplicaRouting.onPrimary(() -> slotCapacityRepository.findFrom(from))));
+    }
+
+    @Override
+    protected void install(NavigableMap<LocalDate, int[]> snapshot, LocalDate from) {
+        remainingByDay = snapshot;
+    }
+
+    @Override
+    protected void keepCurrent(NavigableMap<LocalDate, int[]> snapshot, LocalDate from, Slot key) {
+        int index = SlotScheduler.CREW_SLOTS.indexOf(key.slot());
+        if (index < 0 || key.date().isBefore(from)) {
+            return;
+        }
+        int[] current = remainingByDay.get(key.date());
+        snapshot.computeIfAbsent(key.date(), date -> fullDay())[index] =
+                current != null ? current[index] : capacityProperties.getSlotCapacity();
+    }
+
+    @Override
+    protected void applyLocked(Mutation mutation) {
+        int index = SlotScheduler.CREW_SLOTS.indexOf(mutation.slot());
+        if (index < 0 || !covers(mutation.date())) {
+            return; // Outside the indexed range, answered by the database
+        }
+        remainingByDay.computeIfAbsent(mutation.date(), date -> fullDay())[index] -= mutation.units();
+    }
+
+    @Override
+    protected Slot keyOf(Mutation mutation) {
+        return new Slot(mutation.date(), mutation.slot());
+    }
+
+    @Override
+    protected String name() {
+        return "slot capacity index";
+    }
+
+    @Override
+    protected String describe(NavigableMap<LocalDate, int[]> snapshot, LocalDate from) {
+        return snapshot.size() + " day(s) with reservations from " + from;
+    }
+
+    private Map<LocalDate, int[]> toRemaining(List<SlotCapacity> counters) {
+        Map<LocalDate, int[]> remaining = new HashMap<>();
+        for (SlotCapacity counter : counters) {
+            int index = SlotScheduler.CREW_SLOTS.indexOf(counter.getTimeSlot());
+            if (index < 0) {
+                continue;
+            }
+            int capacity = counter.getCapacity() != null
+                    ? counter.getCapacity() : capacityProperties.getSlotCapacity();
+            remaining.computeIfAbsent(counter.getDate(), date -> fullDay())[index] = capacity - counter.getReserved();
+        }
+        return remaining;
+    }
+
+    private int[] fullDay() {
+        int[] remaining = new int[SlotScheduler.CREW_SLOTS.size()];
+        Arrays.fill(remaining, capacityProperties.getSlotCapacity());
+        return remaining;
+    }
+
+    record Slot(LocalDate date, TimeSlot slot) {
+    }
+
+    record Mutation(LocalDate date, TimeSlot slot, int units) {
+    }
+
+    /**
+     * Capacity left per slot over a range of days.
+     * Days are kept sorted, so checking a multi-day span only visits the days in it that
+     * have reservations rather than querying day by day.
+     */
+    public static final class Snapshot {
+
+        private final NavigableMap<LocalDate, int[]> remainingByDay;
+        private final int defaultCapacity;
+
+        private Snapshot(NavigableMap<LocalDate, int[]> remainingByDay, int defaultCapacity) {
+            this.remainingByDay = remainingByDay;
+            this.defaultCapacity = defaultCapacity;
+        }
+
+        /**
+         * Returns the units still free in a slot on a day.
+         */
+        public int remaining(LocalDate date, TimeSlot slot) {
+            int index = SlotScheduler.CREW_SLOTS.indexOf(slot);
+            if (index < 0) {
+                throw new IllegalArgumentException("Not a crew slot: " + slot);
+            }
+            int[] remaining = remainingByDay.get(date);
+            return remaining != null ? remaining[index] : defaultCapacity;
+        }
+
+        /**
+         * Checks whether a slot has room for the given units on every day of a range (inclusive).
+         */
+        public boolean fits(TimeSlot slot, LocalDate from, LocalDate to, int units) {
+            int index = SlotScheduler.CREW_SLOTS.indexOf(slot);
+            if (index < 0) {
+                throw new IllegalArgumentException("Not a crew slot: " + slot);
+            }
+            if (units > defaultCapacity) {
+                // Days without a counter have the default capacity, so every day has to have one
+                long days = to.toEpochDay() - from.toEpochDay() + 1;
+                if (remainingByDay.subMap(from, true, to, true).size() < days) {
+                    return false;
+                }
+            }
+            for (int[] remaining : remainingByDay.subMap(from, true, to, true).values()) {
+                if (remaining[index] < units) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
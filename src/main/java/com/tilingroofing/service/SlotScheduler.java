@@ -0,0 +1,225 @@
+package com.tilingroofing.service;
+
+import com.tilingroofing.common.exception.BusinessException;
+import com.tilingroofing.config.CapacityProperties;
+import com.tilingroofing.domain.entity.Booking;
+import com.tilingroofing.domain.entity.SlotReservation;
+import com.tilingroofing.domain.enums.JobSize;
+import com.tilingroofing.domain.enums.TimeSlot;
+import com.tilingroofing.domain.repository.SlotCapacityRepository;
+import com.tilingroofing.domain.repository.SlotReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reserves and releases time slot capacity for bookings.
+ *
+ * Each crew slot of a day has a counter in slot_capacity. A reservation adds the job's
+ * weight to the counters of every day the job occupies, in the same slot, and records the
+ * units in the slot_reservations ledger. A single-day job is one compare-and-set UPDATE that
+ * only succeeds while the slot still has room. A multi-day job locks the counters of its
+ * whole span in one range query, checks them, and updates them in one statement, so the
+ * span is reserved all-or-nothing.
+ *
+ * Requests for the same slot on this instance are queued on a striped lock before they
+ * reach the database, so they wait in memory instead of piling up on the row lock, while
+ * requests for different slots proceed in parallel. The lock wait is bounded: the
+ * compare-and-set is what guarantees correctness, so on timeout the request goes straight
+ * to the database. Must be called inside the caller's transaction.
+ */
+@Component
+public class SlotScheduler {
+
+    /**
+     * Slots that have their own crews. A flexible booking takes whichever of these has room.
+     */
+    public static final List<TimeSlot> CREW_SLOTS = List.of(TimeSlot.MORNING, TimeSlot.AFTERNOON);
+
+    private static final Logger log = LoggerFactory.getLogger(SlotScheduler.class);
+
+    private final SlotCapacityRepository slotCapacityRepository;
+    private final SlotReservationRepository slotReservationRepository;
+    private final SlotCapacityIndex slotCapacityIndex;
+    private final CapacityProperties capacityProperties;
+    private final Lock[] stripes;
+
+    public SlotScheduler(
+            SlotCapacityRepository slotCapacityRepository,
+            SlotReservationRepository slotReservationRepository,
+            SlotCapacityIndex slotCapacityIndex,
+            CapacityProperties capacityProperties
+    ) {
+        if (capacityProperties.getLockStripes() < 1) {
+            throw new IllegalArgumentException("Capacity lock stripes must be positive");
+        }
+        this.slotCapacityRepository = slotCapacityRepository;
+        this.slotReservationRepository = slotReservationRepository;
+        this.slotCapacityIndex = slotCapacityIndex;
+        this.capacityProperties = capacityProperties;
+        this.stripes = new Lock[capacityProperties.getLockStripes()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Returns the crew slots a booking for the given time slot may be placed in, in order of preference.
+     */
+    public static List<TimeSlot> candidateSlots(TimeSlot timeSlot) {
+        return timeSlot == null || timeSlot == TimeSlot.FLEXIBLE ? CREW_SLOTS : List.of(timeSlot);
+    }
+
+    /**
+     * Returns the capacity units a job of the given size consumes.
+     */
+    public int weightOf(JobSize jobSize) {
+        return capacityProperties.weightOf(jobSize);
+    }
+
+    /**
+     * Returns the number of consecutive days a job of the given size occupies.
+     */
+    public int daysOf(JobSize jobSize) {
+        return capacityProperties.daysOf(jobSize);
+    }
+
+    /**
+     * Returns the last day a job of the given size starting on the given date occupies.
+     */
+    public LocalDate endDateOf(LocalDate start, JobSize jobSize) {
+        return start.plusDays(daysOf(jobSize) - 1L);
+    }
+
+    /**
+     * Reserves capacity for a booking from its preferred date for as many days as its job size takes.
+     * The booking must already be persisted.
+     *
+     * @return the crew slot the booking was placed in
+     * @throws BusinessException SLOT_UNAVAILABLE if no candidate slot has room on every day
+     */
+    public TimeSlot reserve(Booking booking) {
+        LocalDate from = booking.getPreferredDate();
+        LocalDate to = endDateOf(from, booking.getJobSize());
+        int units = weightOf(booking.getJobSize());
+
+        for (TimeSlot slot : candidateSlots(booking.getTimeSlot())) {
+            if (tryReserve(slot, from, to, units)) {
+                slotReservationRepository.insertRange(booking.getId(), slot.name(), from, to, units);
+                for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                    slotCapacityIndex.markReserved(date, slot, units);
+                }
+                log.info("Reserved {} unit(s) on {} to {} {} for booking {}",
+                        units, from, to, slot, booking.getBookingRef());
+                return slot;
+            }
+        }
+
+        log.info("No capacity on {} to {} for booking {} ({} unit(s), {})",
+                from, to, booking.getBookingRef(), units, booking.getTimeSlot());
+        throw new BusinessException("SLOT_UNAVAILABLE",
+                from.equals(to)
+                        ? "The selected date and time slot are fully booked"
+                        : String.format("The selected time slot is not free on every day from %s to %s", from, to));
+    }
+
+    /**
+     * Releases all capacity held by a booking. Does nothing if it holds none.
+     */
+    public void release(Long bookingId) {
+        releaseAll(List.of(bookingId));
+    }
+
+    /**
+     * Releases all capacity held by the given bookings.
+     */
+    public void releaseAll(Collection<Long> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return;
+        }
+        List<SlotReservation> reservations = slotReservationRepository.findByBookingIdIn(bookingIds);
+        if (reservations.isEmpty()) {
+            return;
+        }
+        slotCapacityRepository.releaseForBookings(bookingIds);
+        slotReservationRepository.deleteAllInBatch(reservations);
+        for (SlotReservation reservation : reservations) {
+            slotCapacityIndex.markReleased(reservation.getDate(), reservation.getTimeSlot(), reservation.getUnits());
+        }
+        log.info("Released {} slot reservation(s) for {} booking(s)", reservations.size(), bookingIds.size());
+    }
+
+    /**
+     * Adds units to the counters of a slot for every day of a range if they fit on all of them,
+     * creating counters on first use. A single day is the common case and takes one UPDATE.
+     */
+    private boolean tryReserve(TimeSlot slot, LocalDate from, LocalDate to, int units) {
+        List<Lock> held = lockStripes(slot, from, to);
+        try {
+            int defaultCapacity = capacityProperties.getSlotCapacity();
+            if (from.equals(to)) {
+                if (slotCapacityRepository.tryReserve(from, slot.name(), units, defaultCapacity) == 1) {
+                    return true;
+                }
+                // Either the slot is full or nobody has booked it yet - make sure the counter exists and retry
+                slotCapacityRepository.createIfAbsent(from, slot.name());
+                return slotCapacityRepository.tryReserve(from, slot.name(), units, defaultCapacity) == 1;
+            }
+
+            // Lock the whole span, check it, then apply - nothing is written unless every day fits
+            slotCapacityRepository.createRangeIfAbsent(slot.name(), from, to);
+            List<Long> remaining = slotCapacityRepository.lockRemaining(slot.name(), from, to, defaultCapacity);
+            if (remaining.stream().anyMatch(free -> free < units)) {
+                return false;
+            }
+            int days = Math.toIntExact(to.toEpochDay() - from.toEpochDay() + 1);
+            int updated = slotCapacityRepository.reserveRange(slot.name(), from, to, units, defaultCapacity);
+            if (updated != days) {
+                // Cannot happen while the rows are locked; fail the transaction rather than leave a partial span
+                throw new IllegalStateException(String.format(
+                        "Reserved %d of %d day(s) for %s %s to %s", updated, days, slot, from, to));
+            }
+            return true;
+        } finally {
+            held.forEach(Lock::unlock);
+        }
+    }
+
+    /**
+     * Acquires the stripe locks covering a slot over a date range, in stripe order.
+     * Each wait is bounded; a stripe that cannot be acquired in time is skipped.
+     *
+     * @return the locks actually acquired, to be released by the caller
+     */
+    private List<Lock> lockStripes(TimeSlot slot, LocalDate from, LocalDate to) {
+        SortedSet<Integer> indexes = new TreeSet<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            indexes.add(Math.floorMod(Objects.hash(date, slot), stripes.length));
+        }
+
+        List<Lock> held = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            Lock stripe = stripes[index];
+            try {
+                if (stripe.tryLock(capacityProperties.getLockTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                    held.add(stripe);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return held;
+    }
+}
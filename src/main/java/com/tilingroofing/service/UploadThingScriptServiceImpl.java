@@ -6,6 +6,7 @@ import com.tilingroofing.api.dto.response.UploadThingUploadResponse;
 import com.tilingroofing.common.exception.FileStorageException;
 import com.tilingroofing.config.UploadThingConfig;
 import com.tilingroofing.domain.repository.BookingFileRepository;
+import com.tilingroofing.domain.repository.BookingRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,8 +16,11 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -31,6 +35,9 @@ public class UploadThingScriptServiceImpl implements UploadThingScriptService {
     private final UploadThingConfig config;
     private final ObjectMapper objectMapper;
     private final BookingFileRepository bookingFileRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingResponseCache bookingResponseCache;
+    private final DataVersions dataVersions;
 
     @Value("${uploadthing.script.upload:uploadthing-upload.js}")
     private String uploadScriptPath;
@@ -44,11 +51,17 @@ public class UploadThingScriptServiceImpl implements UploadThingScriptService {
     public UploadThingScriptServiceImpl(
             UploadThingConfig config, 
             ObjectMapper objectMapper,
-            BookingFileRepository bookingFileRepository
+            BookingFileRepository bookingFileRepository,
+            BookingRepository bookingRepository,
+            BookingResponseCache bookingResponseCache,
+            DataVersions dataVersions
     ) {
         this.config = config;
         this.objectMapper = objectMapper;
         this.bookingFileRepository = bookingFileRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingResponseCache = bookingResponseCache;
+        this.dataVersions = dataVersions;
     }
 
     @Override
@@ -363,6 +376,7 @@ public class UploadThingScriptServiceImpl implements UploadThingScriptService {
         }
 
         int deletedCount = 0;
+        Set<Long> changedBookingIds = new HashSet<>();
         for (String fileKey : fileKeys) {
             try {
                 // Find files by filename (which stores the file key)
@@ -373,6 +387,9 @@ public class UploadThingScriptServiceImpl implements UploadThingScriptService {
                     // Delete all matching files (should typically be just one)
                     bookingFileRepository.deleteAll(files);
                     deletedCount += files.size();
+                    files.stream()
+                            .filter(file -> file.getBooking() != null)
+                            .forEach(file -> changedBookingIds.add(file.getBooking().getId()));
                     log.debug("Deleted {} database record(s) for file key: {}", files.size(), fileKey);
                 } else {
                     log.debug("No database record found for file key: {}", fileKey);
@@ -386,6 +403,15 @@ public class UploadThingScriptServiceImpl implements UploadThingScriptService {
         if (deletedCount > 0) {
             log.info("Deleted {} database record(s) for {} file key(s)", deletedCount, fileKeys.size());
         }
+
+        // The bookings' cached responses still list the deleted files
+        bookingResponseCache.invalidateIds(changedBookingIds);
+
+        // Their entity tags are derived from updatedAt, which a file deletion doesn't change
+        if (!changedBookingIds.isEmpty()) {
+            bookingRepository.touch(changedBookingIds, LocalDateTime.now());
+            dataVersions.changed(DataVersions.DataSet.BOOKINGS);
+        }
     }
 }
 
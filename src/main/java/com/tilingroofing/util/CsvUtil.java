@@ -0,0 +1,116 @@
+package com.tilingroofing.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class for reading and writing CSV lines (RFC 4180 quoting).
+ * Fields may be quoted with double quotes; a doubled quote inside a quoted field is a literal quote.
+ * Quoted fields cannot span lines.
+ *
+ * Spreadsheets run a cell starting with =, +, - or @ as a formula, so a written field starting
+ * with one of them (or a tab) is prefixed with an apostrophe, which makes it plain text.
+ * Reading drops that apostrophe again, so exported files can be imported unchanged.
+ */
+public class CsvUtil {
+
+    private static final char FORMULA_ESCAPE = '\'';
+
+    private CsvUtil() {
+    }
+
+    /**
+     * Splits a single CSV line into fields.
+     *
+     * @param line The line without its line terminator
+     * @return The field values, unquoted and with formula escapes removed
+     * @throws IllegalArgumentException if a quoted field is not terminated
+     */
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (i < line.length()) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(unescapeFormula(field.toString()));
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+            i++;
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(unescapeFormula(field.toString()));
+        return fields;
+    }
+
+    /**
+     * Joins fields into a single CSV line, quoting fields that need it.
+     * Null fields are written as empty. Line breaks inside a field are replaced by spaces
+     * so every record stays on one line, and fields a spreadsheet would run as a formula
+     * are escaped.
+     *
+     * @param fields The field values
+     * @return The line without a line terminator
+     */
+    public static String formatLine(List<String> fields) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            String field = fields.get(i);
+            if (field == null) {
+                continue;
+            }
+            field = field.replace("\r\n", " ").replace('\n', ' ').replace('\r', ' ');
+            if (startsLikeFormula(field, 0)) {
+                field = FORMULA_ESCAPE + field;
+            }
+            if (field.indexOf(',') >= 0 || field.indexOf('"') >= 0) {
+                line.append('"').append(field.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(field);
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Checks whether a spreadsheet would treat the text from the given index as a formula.
+     */
+    private static boolean startsLikeFormula(String field, int index) {
+        if (field.length() <= index) {
+            return false;
+        }
+        char c = field.charAt(index);
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t';
+    }
+
+    /**
+     * Removes the apostrophe formatLine puts in front of a formula-like field.
+     */
+    private static String unescapeFormula(String field) {
+        if (field.length() > 1 && field.charAt(0) == FORMULA_ESCAPE && startsLikeFormula(field, 1)) {
+            return field.substring(1);
+        }
+        return field;
+    }
+}
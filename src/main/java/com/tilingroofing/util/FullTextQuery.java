@@ -0,0 +1,44 @@
+package com.tilingroofing.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class for building MySQL boolean-mode full-text queries from user input.
+ * Each search word becomes a required phrase, which the ngram parser matches as a substring.
+ */
+public class FullTextQuery {
+
+    // Matches the server's default ngram_token_size; shorter words cannot be matched by the index
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    // Characters with special meaning in boolean mode
+    private static final String OPERATOR_CHARACTERS = "[+\\-<>()~*\"@]";
+
+    private FullTextQuery() {
+    }
+
+    /**
+     * Converts a free-text search term into a boolean-mode query.
+     * For example, {@code john smith} becomes {@code +"john" +"smith"}.
+     *
+     * @param search The raw search term
+     * @return The boolean-mode query, or null if the term has no word the index can match
+     */
+    public static String toBooleanMode(String search) {
+        if (search == null || search.isBlank()) {
+            return null;
+        }
+
+        List<String> terms = new ArrayList<>();
+        for (String word : search.replaceAll(OPERATOR_CHARACTERS, " ").trim().split("\\s+")) {
+            if (word.length() >= MIN_TOKEN_LENGTH) {
+                terms.add("+\"" + word + "\"");
+            } else if (!word.isEmpty()) {
+                // A word too short for the index would be silently ignored - let the caller fall back
+                return null;
+            }
+        }
+        return terms.isEmpty() ? null : String.join(" ", terms);
+    }
+}
@@ -0,0 +1,55 @@
+package com.tilingroofing.util;
+
+import com.tilingroofing.common.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for keyset (seek) pagination over (created_at, id).
+ * Encoded as URL-safe Base64 so clients treat it as an opaque token.
+ *
+ * @param createdAt Creation timestamp of the last row on the previous page
+ * @param id ID of the last row on the previous page (tie-breaker)
+ */
+public record KeysetCursor(LocalDateTime createdAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Encodes this cursor as an opaque token.
+     */
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes an opaque token.
+     * A null or blank token denotes the first page and decodes to null.
+     *
+     * @param token The token returned as nextCursor by a previous page
+     * @return The decoded cursor, or null for the first page
+     * @throws BusinessException if the token is malformed
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Missing separator");
+            }
+            return new KeysetCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("INVALID_CURSOR", "Invalid pagination cursor");
+        }
+    }
+}
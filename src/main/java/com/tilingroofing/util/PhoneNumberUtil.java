@@ -0,0 +1,34 @@
+package com.tilingroofing.util;
+
+/**
+ * Utility class for Australian phone number handling.
+ */
+public class PhoneNumberUtil {
+
+    private PhoneNumberUtil() {
+    }
+
+    /**
+     * Normalizes an Australian phone number to +61 format.
+     * Numbers that don't look like Australian numbers are returned unchanged.
+     *
+     * @param phone The phone number as entered
+     * @return The normalized phone number
+     */
+    public static String normalize(String phone) {
+        // Remove all non-digit characters
+        String digits = phone.replaceAll("[^0-9]", "");
+        
+        // If starts with 61, add + prefix
+        if (digits.startsWith("61") && digits.length() == 11) {
+            return "+61" + digits.substring(2);
+        }
+        
+        // If starts with 0, convert to +61 format
+        if (digits.startsWith("0") && digits.length() == 10) {
+            return "+61" + digits.substring(1);
+        }
+        
+        return phone;
+    }
+}
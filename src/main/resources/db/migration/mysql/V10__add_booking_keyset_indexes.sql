@@ -0,0 +1,7 @@
+-- V10: Add composite indexes for keyset (seek) pagination on bookings
+
+-- Serves the admin listing ordered by (created_at DESC, id DESC)
+CREATE INDEX idx_booking_created_at_id ON bookings(created_at, id);
+
+-- Serves the per-user listing ordered by (created_at DESC, id DESC)
+CREATE INDEX idx_booking_user_created_at_id ON bookings(user_id, created_at, id);
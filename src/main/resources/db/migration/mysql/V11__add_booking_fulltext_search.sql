@@ -0,0 +1,19 @@
+-- V11: Add full-text search column and ngram index for admin booking search
+-- search_text is a denormalised copy of the searchable booking and customer fields,
+-- maintained by the application on booking and user writes.
+
+ALTER TABLE bookings ADD COLUMN search_text TEXT NULL;
+
+-- Backfill existing bookings (same expression as BookingRepository.SEARCH_TEXT_EXPRESSION)
+UPDATE bookings b
+INNER JOIN users u ON u.id = b.user_id
+SET b.search_text = CONCAT_WS(' ',
+    b.booking_ref, b.suburb, b.postcode, b.customer_phone,
+    IF(b.customer_phone LIKE '+61%', CONCAT('0', SUBSTRING(b.customer_phone, 4)), NULL),
+    u.name, u.email);
+
+-- The ngram parser drops any n-gram that matches a stopword (e.g. "an", "in", "to"),
+-- which breaks substring search on names, so build this index without stopwords
+SET SESSION innodb_ft_enable_stopword = OFF;
+
+CREATE FULLTEXT INDEX ftx_booking_search ON bookings(search_text) WITH PARSER ngram;
@@ -0,0 +1,16 @@
+-- V12: Create table-backed ID sequences for bookings and users
+-- IDENTITY generation disables JDBC insert batching; these rows back Hibernate's pooled-lo
+-- table generator instead, so IDs are allocated in blocks and inserts can be batched.
+-- The AUTO_INCREMENT columns are kept so rows inserted outside JPA still get an ID.
+
+CREATE TABLE id_sequences (
+    sequence_name VARCHAR(255) PRIMARY KEY,
+    next_val BIGINT
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Seed each sequence past the highest existing ID
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'bookings', COALESCE(MAX(id), 0) + 1 FROM bookings;
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'users', COALESCE(MAX(id), 0) + 1 FROM users;
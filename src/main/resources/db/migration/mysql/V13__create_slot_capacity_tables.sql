@@ -0,0 +1,49 @@
+-- V13: Per-slot capacity counters and reservation ledger
+-- Bookings no longer block the whole day in blocked_dates. Each booking reserves capacity
+-- units in a time slot instead, and blocked_dates is left for days closed by an admin.
+
+CREATE TABLE slot_capacity (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    date DATE NOT NULL,
+    time_slot VARCHAR(20) NOT NULL,
+    reserved INT NOT NULL DEFAULT 0,
+    -- NULL means the configured default (app.capacity.slot-capacity) applies
+    capacity INT NULL,
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_slot_capacity_date_slot UNIQUE (date, time_slot)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE slot_reservations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    booking_id BIGINT NOT NULL,
+    date DATE NOT NULL,
+    time_slot VARCHAR(20) NOT NULL,
+    units INT NOT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_slot_reservations_booking_slot UNIQUE (booking_id, date, time_slot),
+    CONSTRAINT fk_slot_reservations_booking
+        FOREIGN KEY (booking_id) REFERENCES bookings(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE INDEX idx_slot_reservations_date ON slot_reservations(date);
+
+-- Carry existing booking claims over as reservations, using the default job weights
+-- (small=1, medium=2, large=3). Flexible bookings are placed in the morning.
+INSERT INTO slot_reservations (booking_id, date, time_slot, units)
+SELECT b.id,
+       bd.date,
+       CASE WHEN b.time_slot = 'AFTERNOON' THEN 'AFTERNOON' ELSE 'MORNING' END,
+       CASE b.job_size WHEN 'SMALL' THEN 1 WHEN 'MEDIUM' THEN 2 ELSE 3 END
+FROM blocked_dates bd
+JOIN bookings b ON b.id = bd.booking_id
+WHERE b.status <> 'CANCELLED';
+
+INSERT INTO slot_capacity (date, time_slot, reserved)
+SELECT date, time_slot, SUM(units)
+FROM slot_reservations
+GROUP BY date, time_slot;
+
+-- Booking claims now live in the ledger; only admin-closed days stay blocked
+DELETE FROM blocked_dates WHERE booking_id IS NOT NULL;
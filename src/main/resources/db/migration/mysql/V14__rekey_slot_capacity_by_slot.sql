@@ -0,0 +1,10 @@
+-- V14: Key slot capacity counters by slot first
+-- Multi-day jobs lock a run of days in one slot with a range scan. With (time_slot, date)
+-- as the key, that scan touches only the slot being booked, so a multi-day morning job
+-- does not lock the afternoon counters of the same days.
+
+ALTER TABLE slot_capacity
+    DROP INDEX uk_slot_capacity_date_slot,
+    ADD CONSTRAINT uk_slot_capacity_slot_date UNIQUE (time_slot, date);
+
+CREATE INDEX idx_slot_capacity_date ON slot_capacity(date);
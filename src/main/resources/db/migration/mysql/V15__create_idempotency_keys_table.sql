@@ -0,0 +1,21 @@
+-- V15: Create idempotency_keys table
+-- Stores the outcome of mutating requests sent with an Idempotency-Key header, so a client
+-- retrying the same request gets the original response instead of repeating the work.
+
+CREATE TABLE idempotency_keys (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    -- SHA-256 of the caller and the client-supplied key
+    key_hash CHAR(64) NOT NULL,
+    -- Method and path of the original request; a key reused for another request is rejected
+    request_fingerprint VARCHAR(500) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    response_status INT NULL,
+    content_type VARCHAR(255) NULL,
+    response_body MEDIUMBLOB NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at DATETIME NOT NULL,
+
+    CONSTRAINT uk_idempotency_keys_key_hash UNIQUE (key_hash)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
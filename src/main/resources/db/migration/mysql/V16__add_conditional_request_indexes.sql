@@ -0,0 +1,14 @@
+-- V16: Track modification times for conditional GETs
+-- Validators are aggregates (COUNT, MAX(id), MAX(updated_at)), so the timestamp columns are
+-- indexed to answer MAX(updated_at) from the index alone.
+
+ALTER TABLE notifications
+    ADD COLUMN updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP;
+
+ALTER TABLE ratings
+    ADD COLUMN updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP;
+
+CREATE INDEX idx_booking_updated_at ON bookings(updated_at);
+CREATE INDEX idx_booking_user_updated_at ON bookings(user_id, updated_at);
+CREATE INDEX idx_notification_updated_at ON notifications(updated_at);
+CREATE INDEX idx_rating_updated_at ON ratings(updated_at);
@@ -0,0 +1,27 @@
+-- V17: Create outbox table
+-- Side effects of booking changes (notifications, emails) are written here in the same
+-- transaction as the change, then delivered by a dispatcher that claims due rows with
+-- SELECT ... FOR UPDATE SKIP LOCKED, so every app node can drain the table without double sends.
+
+CREATE TABLE outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    booking_id BIGINT NOT NULL,
+    -- One event per key: a repeated publish of the same event is ignored
+    dedupe_key VARCHAR(191) NOT NULL,
+    payload TEXT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    -- Earliest time of the next delivery attempt; pushed forward while a dispatcher holds the event
+    available_at DATETIME NOT NULL,
+    last_error VARCHAR(1000) NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at DATETIME NULL,
+
+    CONSTRAINT uk_outbox_dedupe_key UNIQUE (dedupe_key),
+    -- Events of a deleted booking have nothing left to deliver
+    CONSTRAINT fk_outbox_booking FOREIGN KEY (booking_id) REFERENCES bookings(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE INDEX idx_outbox_status_available_at ON outbox(status, available_at);
+CREATE INDEX idx_outbox_status_processed_at ON outbox(status, processed_at);
@@ -0,0 +1,21 @@
+-- V18: Shared version numbers for conditional GETs on collections
+-- Every write to a data set bumps its row in the writing transaction, so all instances
+-- derive the same entity tag. The aggregate validators (COUNT, MAX(id), MAX(updated_at))
+-- are no longer read, so the indexes added for them in V16 are dropped.
+
+CREATE TABLE data_versions (
+    data_set VARCHAR(50) PRIMARY KEY,
+    version BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO data_versions (data_set, version) VALUES
+    ('BOOKINGS', 1),
+    ('NOTIFICATIONS', 1),
+    ('BLOCKED_DATES', 1),
+    ('RATINGS', 1)
+ON DUPLICATE KEY UPDATE data_set = data_set;
+
+DROP INDEX idx_booking_updated_at ON bookings;
+DROP INDEX idx_booking_user_updated_at ON bookings;
+DROP INDEX idx_notification_updated_at ON notifications;
+DROP INDEX idx_rating_updated_at ON ratings;
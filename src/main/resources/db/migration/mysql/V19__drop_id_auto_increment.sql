@@ -0,0 +1,15 @@
+-- V19: Take booking and user IDs from id_sequences only
+-- Hibernate hands out IDs in blocks from id_sequences (V12) without touching the
+-- AUTO_INCREMENT counters, so a row inserted with an AUTO_INCREMENT ID could take an ID
+-- from a block already handed out and fail on the primary key later. Without AUTO_INCREMENT
+-- an insert without an ID fails straight away; every insert must take its ID from
+-- id_sequences.
+-- The columns are referenced by foreign keys, which MySQL only lets change while the
+-- checks are off; the type itself is unchanged.
+
+SET FOREIGN_KEY_CHECKS = 0;
+
+ALTER TABLE bookings MODIFY id BIGINT NOT NULL;
+ALTER TABLE users MODIFY id BIGINT NOT NULL;
+
+SET FOREIGN_KEY_CHECKS = 1;
@@ -0,0 +1,6 @@
+-- V20: Fence outbox deliveries with a lease token
+-- Each claim stamps its events with a fresh token, and a dispatcher only marks, renews or
+-- reschedules events still carrying its token. A dispatcher whose lease ran out - and whose
+-- events another node has claimed since - can no longer touch them.
+
+ALTER TABLE outbox ADD COLUMN lease_token VARCHAR(36) NULL AFTER available_at;
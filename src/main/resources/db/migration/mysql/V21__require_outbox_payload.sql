@@ -0,0 +1,11 @@
+-- V21: Every outbox event carries its payload
+-- Email events are rendered from the booking snapshot in their payload and notifications
+-- from the message in theirs; the dispatcher no longer reads bookings back for events
+-- without one. Any such event left over is given up on rather than sent with the booking's
+-- current state in place of the state it was published for.
+
+UPDATE outbox
+SET status = 'FAILED', processed_at = NOW(), last_error = 'Published without a payload', payload = '{}'
+WHERE payload IS NULL;
+
+ALTER TABLE outbox MODIFY payload TEXT NOT NULL;
@@ -0,0 +1,6 @@
+-- V22: Keep running requests' idempotency claims alive
+-- The instance running a request refreshes heartbeat_at on its claim periodically, so a claim
+-- is only taken over once its request has stopped refreshing it (the instance crashed), not
+-- merely because the request runs longer than the in-progress timeout.
+
+ALTER TABLE idempotency_keys ADD COLUMN heartbeat_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP AFTER created_at;
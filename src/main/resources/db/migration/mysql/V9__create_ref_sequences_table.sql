@@ -0,0 +1,10 @@
+-- V9: Create sequence table for block-allocated booking references
+
+CREATE TABLE ref_sequences (
+    name VARCHAR(50) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Seed the booking reference sequence
+INSERT INTO ref_sequences (name, next_value) VALUES ('booking_ref', 1)
+ON DUPLICATE KEY UPDATE name = name;
@@ -0,0 +1,115 @@
+package com.tilingroofing.service;
+
+import com.tilingroofing.MySqlIntegrationTest;
+import com.tilingroofing.api.dto.request.BlockDatesRequest;
+import com.tilingroofing.api.dto.request.CreateBookingRequest;
+import com.tilingroofing.api.dto.response.BlockedDateResponse;
+import com.tilingroofing.common.exception.BusinessException;
+import com.tilingroofing.domain.repository.BlockedDateRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Claims one date from many threads at once: exactly one claim may win.
+ */
+class BlockedDateClaimConcurrencyTest extends MySqlIntegrationTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BlockedDateRepository blockedDateRepository;
+
+    @Autowired
+    private BlockedDateService blockedDateService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<LocalDate> claimedDates = new ArrayList<>();
+
+    @AfterEach
+    void unblockDates() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                claimedDates.forEach(blockedDateRepository::deleteByDate));
+    }
+
+    @Test
+    void concurrentClaimsOfOneDateHaveExactlyOneWinner() throws Exception {
+        LocalDate date = LocalDate.now().plusYears(5);
+        claimedDates.add(date);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        List<Boolean> claims = race(() -> transaction.execute(status ->
+                blockedDateRepository.claim(date, "concurrency test", null)));
+
+        assertThat(claims).containsOnlyOnce(true);
+        assertThat(claims).filteredOn(claimed -> !claimed).hasSize(THREADS - 1);
+        assertThat(blockedDateRepository.findByDate(date)).isPresent();
+    }
+
+    @Test
+    void concurrentAdminBlocksReportTheDateOnceAndBookingsAreRefused() throws Exception {
+        LocalDate date = LocalDate.now().plusYears(5).plusDays(1);
+        claimedDates.add(date);
+        BlockDatesRequest request = BlockDatesRequest.builder()
+                .dates(List.of(date.toString()))
+                .reason("concurrency test")
+                .build();
+
+        List<List<BlockedDateResponse>> responses = race(() -> blockedDateService.blockDates(request));
+
+        assertThat(responses).filteredOn(blocked -> !blocked.isEmpty()).hasSize(1);
+        assertThat(responses).filteredOn(List::isEmpty).hasSize(THREADS - 1);
+
+        CreateBookingRequest booking = new CreateBookingRequest();
+        booking.setDate(date.toString());
+        booking.setJobSize("small");
+        assertThatThrownBy(() -> bookingService.createBooking(booking, List.of(), 1L))
+                .isInstanceOfSatisfying(BusinessException.class,
+                        e -> assertThat(e.getCode()).isEqualTo("DATE_BLOCKED"));
+    }
+
+    /**
+     * Runs the task on every thread at once and returns the results.
+     */
+    private static <T> List<T> race(Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.tilingroofing.service;
+
+import com.tilingroofing.MySqlIntegrationTest;
+import com.tilingroofing.api.dto.response.BookingResponse;
+import com.tilingroofing.api.dto.response.PagedResponse;
+import com.tilingroofing.domain.entity.Booking;
+import com.tilingroofing.domain.entity.BookingFile;
+import com.tilingroofing.domain.entity.Rating;
+import com.tilingroofing.domain.entity.User;
+import com.tilingroofing.domain.enums.BookingStatus;
+import com.tilingroofing.domain.enums.JobSize;
+import com.tilingroofing.domain.enums.TimeSlot;
+import com.tilingroofing.domain.repository.BookingRepository;
+import com.tilingroofing.domain.repository.RatingRepository;
+import com.tilingroofing.domain.repository.RoleRepository;
+import com.tilingroofing.domain.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the number of statements a booking list page costs: the list query, the count query
+ * and one query for the files of the whole page, however many bookings are on it.
+ */
+class BookingListQueryCountTest extends MySqlIntegrationTest {
+
+    private static final int BOOKINGS = 120;
+    private static final int USERS = 10;
+    private static final long STATEMENTS_PER_PAGE = 3;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void createBookings() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder()
+                    .email("list-" + run + "-" + i + "@example.com")
+                    .name("List Customer " + i)
+                    .role(roleRepository.findByName("USER").orElseThrow())
+                    .build());
+        }
+        userRepository.saveAll(users);
+
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = Booking.builder()
+                    .bookingRef(("L" + run + i).toUpperCase())
+                    .status(BookingStatus.COMPLETED)
+                    .serviceId("roof-tiling")
+                    .jobSize(JobSize.SMALL)
+                    .suburb("Sydney")
+                    .postcode("2000")
+                    .description("Query count booking " + i)
+                    .preferredDate(LocalDate.now().minusDays(i + 1))
+                    .timeSlot(TimeSlot.MORNING)
+                    .user(users.get(i % USERS))
+                    .customerPhone("+61400000000")
+                    .build();
+            for (int f = 0; f < 2; f++) {
+                booking.addFile(BookingFile.builder()
+                        .filename("photo-" + f + ".jpg")
+                        .originalFilename("photo-" + f + ".jpg")
+                        .filePath("https://files.example.com/" + run + "/" + i + "/" + f)
+                        .fileSize(1024L)
+                        .mimeType("image/jpeg")
+                        .build());
+            }
+            bookings.add(booking);
+        }
+        bookingRepository.saveAll(bookings);
+
+        ratingRepository.saveAll(bookings.stream()
+                .map(booking -> Rating.builder().booking(booking).rating(9).comment("Great job").build())
+                .toList());
+    }
+
+    @AfterEach
+    void deleteBookings() {
+        bookingRepository.deleteAll(bookings);
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void offsetPageCostsTheSameStatementsForTenOrOneHundredBookings() {
+        assertThat(statementsFor(() -> bookingService.listBookings(null, null, 0, 10), 10))
+                .isEqualTo(STATEMENTS_PER_PAGE);
+        assertThat(statementsFor(() -> bookingService.listBookings(null, null, 0, 100), 100))
+                .isEqualTo(STATEMENTS_PER_PAGE);
+    }
+
+    @Test
+    void cursorPageCostsTheSameStatementsForTenOrOneHundredBookings() {
+        assertThat(statementsFor(() -> bookingService.listBookingsByCursor(null, null, null, 10, true), 10))
+                .isEqualTo(STATEMENTS_PER_PAGE);
+        assertThat(statementsFor(() -> bookingService.listBookingsByCursor(null, null, null, 100, true), 100))
+                .isEqualTo(STATEMENTS_PER_PAGE);
+    }
+
+    @Test
+    void userPageCostsTheSameStatementsForAnyNumberOfBookings() {
+        Long userId = users.get(0).getId();
+        int userBookings = BOOKINGS / USERS;
+        assertThat(statementsFor(() -> bookingService.getUserBookings(userId, null, 0, 5), 5))
+                .isEqualTo(STATEMENTS_PER_PAGE);
+        assertThat(statementsFor(() -> bookingService.getUserBookings(userId, null, 0, userBookings), userBookings))
+                .isEqualTo(STATEMENTS_PER_PAGE);
+    }
+
+    /**
+     * Loads a page and returns the number of statements it prepared.
+     * Checks that the page is full and every booking on it came with its files.
+     */
+    private long statementsFor(Supplier<PagedResponse<BookingResponse>> page, int expectedSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PagedResponse<BookingResponse> response = page.get();
+
+        long statements = statistics.getPrepareStatementCount();
+        assertThat(response.getContent()).hasSize(expectedSize);
+        assertThat(response.getContent()).allSatisfy(booking -> assertThat(booking.getFiles()).hasSize(2));
+        return statements;
+    }
+}
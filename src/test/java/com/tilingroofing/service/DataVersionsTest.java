@@ -0,0 +1,63 @@
+package com.tilingroofing.service;
+
+import com.tilingroofing.MySqlIntegrationTest;
+import com.tilingroofing.service.DataVersions.DataSet;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that data set versions move with the transactions that change the data.
+ */
+class DataVersionsTest extends MySqlIntegrationTest {
+
+    @Autowired
+    private DataVersions dataVersions;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void committedTransactionBumpsEachChangedDataSetOnce() {
+        String bookings = dataVersions.tag(DataSet.BOOKINGS);
+        String ratings = dataVersions.tag(DataSet.RATINGS);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            dataVersions.changed(DataSet.BOOKINGS);
+            dataVersions.changed(DataSet.BOOKINGS);
+            assertThat(dataVersions.tag(DataSet.BOOKINGS)).isEqualTo(bookings);
+        });
+
+        assertThat(dataVersions.tag(DataSet.BOOKINGS)).isEqualTo(next(bookings));
+        assertThat(dataVersions.tag(DataSet.RATINGS)).isEqualTo(ratings);
+    }
+
+    @Test
+    void rolledBackTransactionLeavesTheVersionAlone() {
+        String notifications = dataVersions.tag(DataSet.NOTIFICATIONS);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            dataVersions.changed(DataSet.NOTIFICATIONS);
+            status.setRollbackOnly();
+        });
+
+        assertThat(dataVersions.tag(DataSet.NOTIFICATIONS)).isEqualTo(notifications);
+    }
+
+    @Test
+    void changeOutsideTransactionBumpsRightAway() {
+        String blockedDates = dataVersions.tag(DataSet.BLOCKED_DATES);
+
+        dataVersions.changed(DataSet.BLOCKED_DATES);
+
+        assertThat(dataVersions.tag(DataSet.BLOCKED_DATES)).isEqualTo(next(blockedDates));
+    }
+
+    private static String next(String tag) {
+        int dot = tag.lastIndexOf('.');
+        return tag.substring(0, dot + 1) + (Long.parseLong(tag.substring(dot + 1)) + 1);
+    }
+}
@@ -0,0 +1,173 @@
+package com.tilingroofing.service;
+
+import com.icegreen.greenmail.Managers;
+import com.icegreen.greenmail.imap.ImapHostManager;
+import com.icegreen.greenmail.mail.MailAddress;
+import com.icegreen.greenmail.server.AbstractServer;
+import com.icegreen.greenmail.smtp.SmtpManager;
+import com.icegreen.greenmail.smtp.SmtpState;
+import com.icegreen.greenmail.user.UserManager;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.tilingroofing.common.exception.EmailDeliveryException;
+import com.tilingroofing.config.PooledJavaMailSender;
+import com.tilingroofing.domain.projection.BookingSnapshot;
+import com.tilingroofing.service.EmailService.BookingEmail;
+import com.tilingroofing.service.EmailService.EmailKind;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.SendFailedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends email batches through the pooled mail sender to an in-process SMTP server.
+ */
+class EmailBatchDeliveryTest {
+
+    private static final String REJECTED_DOMAIN = "rejected.example.com";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService renderExecutor = Executors.newFixedThreadPool(2);
+
+    private GreenMail server;
+    private PooledJavaMailSender mailSender;
+    private EmailService emailService;
+
+    @BeforeEach
+    void startServer() {
+        server = startServer(ServerSetupTest.SMTP.dynamicPort());
+
+        mailSender = new PooledJavaMailSender(
+                1, Duration.ofSeconds(5), Duration.ofSeconds(30), Duration.ofSeconds(240), meterRegistry);
+        mailSender.setHost("localhost");
+        mailSender.setPort(server.getSmtp().getPort());
+
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        emailService = new EmailServiceImpl(
+                templateEngine, mailSender, renderExecutor, "admin@example.com", "noreply@example.com");
+    }
+
+    @AfterEach
+    void stopServer() {
+        mailSender.destroy();
+        server.stop();
+        renderExecutor.shutdownNow();
+    }
+
+    @Test
+    void batchesReuseOneConnection() {
+        for (int batch = 0; batch < 3; batch++) {
+            assertThat(emailService.sendAll(bookingEmails("TR-1000" + batch, "customer@example.com"))).isEmpty();
+        }
+
+        assertThat(server.getReceivedMessages()).hasSize(6);
+        assertThat(counter("mail.connections.opened")).isEqualTo(1);
+        assertThat(counter("mail.messages.sent")).isEqualTo(6);
+    }
+
+    @Test
+    void reconnectsAfterServerRestart() {
+        assertThat(emailService.sendAll(bookingEmails("TR-20000", "customer@example.com"))).isEmpty();
+
+        int port = server.getSmtp().getPort();
+        server.stop();
+        server = startServer(new ServerSetup(port, null, ServerSetup.PROTOCOL_SMTP));
+
+        assertThat(emailService.sendAll(bookingEmails("TR-20001", "customer@example.com"))).isEmpty();
+        assertThat(server.getReceivedMessages()).hasSize(2);
+        assertThat(counter("mail.connections.opened")).isEqualTo(2);
+        assertThat(counter("mail.messages.failed")).isZero();
+    }
+
+    @Test
+    void rejectedRecipientFailsOnlyItsOwnEmail() {
+        BookingEmail rejected = new BookingEmail(
+                EmailKind.CUSTOMER_CONFIRMATION, snapshot("TR-30001", "nobody@" + REJECTED_DOMAIN));
+        List<BookingEmail> emails = List.of(
+                new BookingEmail(EmailKind.CUSTOMER_CONFIRMATION, snapshot("TR-30000", "customer@example.com")),
+                rejected,
+                new BookingEmail(EmailKind.STATUS_UPDATE, snapshot("TR-30002", "customer@example.com")));
+
+        Map<BookingEmail, EmailDeliveryException> failures = emailService.sendAll(emails);
+
+        assertThat(failures).containsOnlyKeys(rejected);
+        assertThat(failures.get(rejected)).hasCauseInstanceOf(SendFailedException.class);
+        assertThat(server.getReceivedMessages()).hasSize(2);
+        assertThat(counter("mail.connections.opened")).isEqualTo(1);
+        assertThat(counter("mail.messages.failed")).isEqualTo(1);
+    }
+
+    /**
+     * Starts an SMTP server that refuses recipients in the rejected domain, as a real server
+     * refuses unknown mailboxes.
+     */
+    private static GreenMail startServer(ServerSetup setup) {
+        GreenMail greenMail = new GreenMail(setup) {
+            @Override
+            protected Map<String, AbstractServer> createServices(ServerSetup[] config, Managers managers) {
+                SmtpManager smtpManager = new SmtpManager(managers.getImapHostManager(), managers.getUserManager()) {
+                    @Override
+                    public String checkRecipient(SmtpState state, MailAddress address) {
+                        return REJECTED_DOMAIN.equals(address.getHost()) ? "550 5.1.1 Mailbox unavailable" : null;
+                    }
+                };
+                return super.createServices(config, new Managers() {
+                    @Override
+                    public SmtpManager getSmtpManager() {
+                        return smtpManager;
+                    }
+
+                    @Override
+                    public UserManager getUserManager() {
+                        return managers.getUserManager();
+                    }
+
+                    @Override
+                    public ImapHostManager getImapHostManager() {
+                        return managers.getImapHostManager();
+                    }
+                });
+            }
+        };
+        greenMail.start();
+        return greenMail;
+    }
+
+    private static List<BookingEmail> bookingEmails(String bookingRef, String customerEmail) {
+        BookingSnapshot booking = snapshot(bookingRef, customerEmail);
+        return List.of(
+                new BookingEmail(EmailKind.CUSTOMER_CONFIRMATION, booking),
+                new BookingEmail(EmailKind.ADMIN_NOTIFICATION, booking));
+    }
+
+    private static BookingSnapshot snapshot(String bookingRef, String customerEmail) {
+        return new BookingSnapshot(1L, bookingRef, "pending", "roof-tiling", "medium",
+                LocalDate.now().plusDays(7), "morning", "Sydney", "2000", "Replace broken tiles",
+                "Test Customer", customerEmail, "0400000000");
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+}
@@ -0,0 +1,64 @@
+package com.tilingroofing.service;
+
+import com.tilingroofing.MySqlIntegrationTest;
+import com.tilingroofing.domain.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that a claim is only taken over once the instance running its request stops
+ * refreshing it, however long the request has been running.
+ */
+class IdempotencyClaimHeartbeatTest extends MySqlIntegrationTest {
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String keyHash = UUID.randomUUID().toString().replace("-", "").repeat(2);
+
+    @AfterEach
+    void deleteKey() {
+        idempotencyStore.release(keyHash);
+    }
+
+    @Test
+    void longRunningRequestKeepsItsClaim() {
+        assertThat(idempotencyStore.claim(keyHash, "POST /api/bookings long")).isTrue();
+        startedMinutesAgo(10);
+
+        idempotencyStore.heartbeat();
+
+        assertThat(idempotencyStore.claim(keyHash, "POST /api/bookings retry")).isFalse();
+        assertThat(idempotencyStore.findFingerprint(keyHash)).contains("POST /api/bookings long");
+    }
+
+    @Test
+    void claimNoLongerRefreshedIsTakenOver() {
+        // Claimed by an instance that has since crashed
+        idempotencyRecordRepository.claim(keyHash, "POST /api/bookings crashed", LocalDateTime.now().plusHours(1));
+        startedMinutesAgo(10);
+
+        idempotencyStore.heartbeat();
+
+        assertThat(idempotencyStore.claim(keyHash, "POST /api/bookings retry")).isTrue();
+        assertThat(idempotencyStore.findFingerprint(keyHash)).contains("POST /api/bookings retry");
+    }
+
+    private void startedMinutesAgo(int minutes) {
+        jdbcTemplate.update("UPDATE idempotency_keys SET created_at = ?, heartbeat_at = ? WHERE key_hash = ?",
+                LocalDateTime.now().minusMinutes(minutes), LocalDateTime.now().minusMinutes(minutes), keyHash);
+    }
+}
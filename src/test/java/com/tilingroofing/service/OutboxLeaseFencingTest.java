@@ -0,0 +1,126 @@
+package com.tilingroofing.service;
+
+import com.tilingroofing.MySqlIntegrationTest;
+import com.tilingroofing.domain.entity.Booking;
+import com.tilingroofing.domain.entity.OutboxEvent;
+import com.tilingroofing.domain.entity.User;
+import com.tilingroofing.domain.enums.BookingStatus;
+import com.tilingroofing.domain.enums.JobSize;
+import com.tilingroofing.domain.enums.OutboxEventType;
+import com.tilingroofing.domain.enums.OutboxStatus;
+import com.tilingroofing.domain.enums.TimeSlot;
+import com.tilingroofing.domain.repository.BookingRepository;
+import com.tilingroofing.domain.repository.OutboxEventRepository;
+import com.tilingroofing.domain.repository.RoleRepository;
+import com.tilingroofing.domain.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that a dispatcher whose lease ran out can no longer renew, mark or reschedule
+ * events another dispatcher has claimed since.
+ */
+class OutboxLeaseFencingTest extends MySqlIntegrationTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+    private Booking booking;
+    private Long eventId;
+
+    @BeforeEach
+    void publishEvent() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        user = userRepository.save(User.builder()
+                .email("outbox-" + run + "@example.com")
+                .name("Outbox Customer")
+                .role(roleRepository.findByName("USER").orElseThrow())
+                .build());
+        booking = bookingRepository.save(Booking.builder()
+                .bookingRef(("O" + run).toUpperCase())
+                .status(BookingStatus.PENDING)
+                .serviceId("roof-tiling")
+                .jobSize(JobSize.SMALL)
+                .suburb("Sydney")
+                .postcode("2000")
+                .description("Outbox lease booking")
+                .preferredDate(LocalDate.now().plusDays(7))
+                .timeSlot(TimeSlot.MORNING)
+                .user(user)
+                .customerPhone("+61400000000")
+                .build());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                outboxEventRepository.insertIfAbsent(OutboxEventType.CUSTOMER_CONFIRMATION.name(), booking.getId(),
+                        "lease-test:" + run, "{}", LocalDateTime.now().minusMinutes(1)));
+        eventId = outboxEventRepository.findAll().stream()
+                .filter(event -> event.getDedupeKey().equals("lease-test:" + run))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+    }
+
+    @AfterEach
+    void deleteBooking() {
+        // Deleting the booking cascades to its events
+        bookingRepository.delete(booking);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void expiredClaimLosesTheEventToTheNextClaim() {
+        LocalDateTime now = LocalDateTime.now();
+        claim("first", now.minusSeconds(1));
+        claim("second", now.plusMinutes(5));
+
+        assertThat(outboxEventRepository.renewLease(List.of(eventId), "first", now.plusMinutes(5))).isZero();
+        assertThat(outboxEventRepository.findHeld(List.of(eventId), "first")).isEmpty();
+        assertThat(outboxEventRepository.markSent(eventId, "first", now)).isZero();
+        assertThat(outboxEventRepository.reschedule(eventId, "first", now.plusHours(1), "late")).isZero();
+        assertThat(outboxEventRepository.markFailed(eventId, "first", now, "late")).isZero();
+
+        OutboxEvent event = outboxEventRepository.findById(eventId).orElseThrow();
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(event.getLeaseToken()).isEqualTo("second");
+        assertThat(event.getAttempts()).isEqualTo(2);
+
+        assertThat(outboxEventRepository.findHeld(List.of(eventId), "second")).containsExactly(eventId);
+        assertThat(outboxEventRepository.markSent(eventId, "second", now)).isEqualTo(1);
+        assertThat(outboxEventRepository.renewLease(List.of(eventId), "second", now.plusMinutes(5))).isZero();
+    }
+
+    /**
+     * Claims the event the way the dispatcher does, leased until the given time.
+     */
+    private void claim(String token, LocalDateTime leaseUntil) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<OutboxEvent> due = outboxEventRepository.lockDue(LocalDateTime.now(), 100);
+            assertThat(due).extracting(OutboxEvent::getId).contains(eventId);
+            outboxEventRepository.lease(List.of(eventId), token, leaseUntil);
+        });
+    }
+}
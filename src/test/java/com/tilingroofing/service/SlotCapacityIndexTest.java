@@ -0,0 +1,114 @@
+package com.tilingroofing.service;
+
+import com.tilingroofing.config.CapacityProperties;
+import com.tilingroofing.domain.entity.SlotCapacity;
+import com.tilingroofing.domain.enums.TimeSlot;
+import com.tilingroofing.domain.repository.SlotCapacityRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reloads the slot capacity index while reservations commit, checking that no reservation
+ * is counted twice or lost.
+ */
+class SlotCapacityIndexTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(10);
+    private static final int CAPACITY = 3;
+
+    private final SlotCapacityRepository repository = mock(SlotCapacityRepository.class);
+    private SlotCapacityIndex index;
+
+    @BeforeEach
+    void loadEmptyIndex() {
+        CapacityProperties properties = new CapacityProperties();
+        properties.setSlotCapacity(CAPACITY);
+        index = new SlotCapacityIndex(repository, properties);
+        when(repository.findFrom(any())).thenReturn(List.of());
+        index.reload();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void reservationCommittedDuringReloadAndLoadedIsCountedOnce() {
+        List<TransactionSynchronization> transaction = reserveInTransaction(1);
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+
+        // The reservation commits while the reload query runs, and the query sees it
+        when(repository.findFrom(any())).thenReturn(List.of(counter(1)));
+        index.reload();
+        TransactionSynchronizationUtils.invokeAfterCommit(transaction);
+
+        assertThat(remaining()).isEqualTo(CAPACITY - 1);
+    }
+
+    @Test
+    void reservationCommittedDuringReloadButNotLoadedIsNotLost() {
+        List<TransactionSynchronization> transaction = reserveInTransaction(1);
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+
+        // The reload query runs just before the reservation commits
+        when(repository.findFrom(any())).thenReturn(List.of());
+        index.reload();
+        TransactionSynchronizationUtils.invokeAfterCommit(transaction);
+
+        assertThat(remaining()).isEqualTo(CAPACITY - 1);
+    }
+
+    @Test
+    void reservationCommittedBeforeReloadIsTakenFromTheSnapshot() {
+        index.markReserved(DAY, TimeSlot.MORNING, 1);
+
+        // Another node reserved a unit as well
+        when(repository.findFrom(any())).thenReturn(List.of(counter(2)));
+        index.reload();
+
+        assertThat(remaining()).isEqualTo(CAPACITY - 2);
+    }
+
+    @Test
+    void rolledBackReservationIsNotApplied() {
+        List<TransactionSynchronization> transaction = reserveInTransaction(1);
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        TransactionSynchronizationUtils.invokeAfterCompletion(transaction, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        index.reload();
+
+        assertThat(remaining()).isEqualTo(CAPACITY);
+    }
+
+    /**
+     * Reserves units in a transaction that has not committed yet.
+     */
+    private List<TransactionSynchronization> reserveInTransaction(int units) {
+        TransactionSynchronizationManager.initSynchronization();
+        index.markReserved(DAY, TimeSlot.MORNING, units);
+        return TransactionSynchronizationManager.getSynchronizations();
+    }
+
+    private int remaining() {
+        return index.between(DAY, DAY).remaining(DAY, TimeSlot.MORNING);
+    }
+
+    private static SlotCapacity counter(int reserved) {
+        return SlotCapacity.builder().date(DAY).timeSlot(TimeSlot.MORNING).reserved(reserved).build();
+    }
+}
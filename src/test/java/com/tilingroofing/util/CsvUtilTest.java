@@ -0,0 +1,34 @@
+package com.tilingroofing.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvUtilTest {
+
+    @Test
+    void formulaLikeFieldsAreWrittenAsText() {
+        String line = CsvUtil.formatLine(List.of("=HYPERLINK(\"http://x\")", "+61400000000", "-2+3", "@SUM(A1)", "\tx", "plain"));
+
+        assertThat(line).isEqualTo("\"'=HYPERLINK(\"\"http://x\"\")\",'+61400000000,'-2+3,'@SUM(A1),'\tx,plain");
+    }
+
+    @Test
+    void escapedFieldsReadBackUnchanged() {
+        List<String> fields = Arrays.asList("=1+1", "+61400000000", "-", "@user", "it's", "'quoted'", "", null);
+
+        assertThat(CsvUtil.parseLine(CsvUtil.formatLine(fields)))
+                .containsExactly("=1+1", "+61400000000", "-", "@user", "it's", "'quoted'", "", "");
+    }
+
+    @Test
+    void quotingAndLineBreaksAreHandled() {
+        String line = CsvUtil.formatLine(List.of("a,b", "say \"hi\"", "two\nlines"));
+
+        assertThat(line).isEqualTo("\"a,b\",\"say \"\"hi\"\"\",two lines");
+        assertThat(CsvUtil.parseLine(line)).containsExactly("a,b", "say \"hi\"", "two lines");
+    }
+}